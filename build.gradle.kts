@@ -23,6 +23,14 @@ dependencies {
     implementation("com.google.guava:guava:33.1.0-jre")
     implementation("org.jetbrains:annotations:24.1.0")
     implementation("org.spigotmc:spigot-api:1.21.5-R0.1-SNAPSHOT")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 // Publishing
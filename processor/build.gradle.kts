@@ -0,0 +1,43 @@
+plugins {
+    java
+    `maven-publish`
+}
+
+group = "com.sniskus.helix"
+version = "1.0.1"
+
+java {
+    toolchain.languageVersion.set(JavaLanguageVersion.of(21))
+}
+
+// Dependencies
+// ===========================================================================================
+
+repositories {
+    mavenCentral()
+    maven(url = "https://hub.spigotmc.org/nexus/content/repositories/snapshots/")
+}
+
+dependencies {
+    implementation(project(":"))
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+// Publishing
+// ===========================================================================================
+
+publishing {
+    publications {
+        create<MavenPublication>("mavenJava") {
+            from(components["java"])
+            artifactId = "helix-api-processor"
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.sniskus.helix.processor;
+
+import com.sniskus.helix.api.Identifiers;
+import com.sniskus.helix.api.annotate.arguments.Fallbacks;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Generates a binding table for every class implementing {@code StaticMethods}
+ * or extending {@code InstanceMethods}.
+ * <p>
+ * The processor resolves the Helix annotations of each public method and its parameters at
+ * compile time, and generates a class implementing {@code BindingTable} in the same package,
+ * which calls every method through a plain lambda. Registering such a class at runtime
+ * requires no reflection. Invalid annotations, such as malformed patterns or unknown enum
+ * fallbacks, are reported as compilation errors.
+ * </p>
+ * <p>
+ * Once all classes have been processed, every generated table is registered in a single
+ * {@code META-INF/services} file, through which {@code BindingTable.find} locates them.
+ * Since that file depends on all classes of the module, the processor is aggregating.
+ * </p>
+ * <p>
+ * The processor validates names and fallbacks with the same code as the Helix API at runtime.
+ * The API types of the compiled module are referenced by name, so the processor does nothing
+ * if the API is not on the compilation classpath.
+ * </p>
+ */
+@SupportedAnnotationTypes("*")
+public final class BindingProcessor extends AbstractProcessor {
+	private static final String API = "com.sniskus.helix.api.";
+	private static final String STATIC_METHODS = API + "implementation.StaticMethods";
+	private static final String INSTANCE_METHODS = API + "implementation.InstanceMethods";
+	private static final String BINDING = API + "implementation.Binding";
+	private static final String BINDING_TABLE = API + "implementation.BindingTable";
+	private static final String INVOKER = API + "implementation.MethodInvoker";
+	private static final String NAME = API + "annotate.Name";
+	private static final String NOT_ASYNC = API + "annotate.methods.NotAsync";
+	private static final String EXTENSION = API + "annotate.methods.Extension";
+	private static final String NOT_NULL = API + "annotate.arguments.NotNull";
+	private static final String PATTERN = API + "annotate.arguments.Pattern";
+	private static final String OPTIONAL = API + "annotate.arguments.Optional";
+	private static final String SUFFIX = "_HelixBindings";
+	private static final String GENERATED = "javax.annotation.processing.Generated";
+	private static final String[] ARGUMENTS = { "a", "b", "c" };
+	private static final int MAX_DIRECT_ARITY = ARGUMENTS.length;
+
+	private Elements elements;
+	private Types types;
+	private Messager messager;
+	private final Map<String, TypeElement> tables = new TreeMap<>();
+
+	@Override
+	public synchronized void init(ProcessingEnvironment env) {
+		super.init(env);
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+		this.messager = env.getMessager();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		if (round.processingOver()) {
+			register();
+			return false;
+		}
+		TypeElement staticMethods = elements.getTypeElement(STATIC_METHODS);
+		TypeElement instanceMethods = elements.getTypeElement(INSTANCE_METHODS);
+		if (staticMethods == null || instanceMethods == null) return false;
+		Deque<TypeElement> queue = new ArrayDeque<>(ElementFilter.typesIn(round.getRootElements()));
+		while (!queue.isEmpty()) {
+			TypeElement type = queue.poll();
+			queue.addAll(ElementFilter.typesIn(type.getEnclosedElements()));
+			if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) continue;
+			if (types.isAssignable(types.erasure(type.asType()), types.erasure(staticMethods.asType()))) {
+				process(type, null);
+			} else {
+				TypeMirror delegate = delegateOf(type.asType(), instanceMethods);
+				if (delegate != null) process(type, types.erasure(delegate));
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generates the binding table of a class.
+	 *
+	 * @param type     The class
+	 * @param delegate The erased delegate type for {@code InstanceMethods}, or {@code null} for {@code StaticMethods}
+	 */
+	private void process(TypeElement type, TypeMirror delegate) {
+		for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+			if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+				messager.printMessage(Diagnostic.Kind.WARNING, "Cannot generate bindings for a private class", type);
+				return;
+			}
+		}
+		String owner = type.getQualifiedName().toString();
+		List<String> bindings = new ArrayList<>();
+		String wrapper = null;
+		boolean valid = true;
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			if (!method.getModifiers().contains(Modifier.PUBLIC)) continue;
+			boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+			List<? extends VariableElement> parameters = method.getParameters();
+			String self;
+			AnnotationMirror extension = annotation(method, EXTENSION);
+			if (extension != null && (!isStatic || delegate == null)) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "@Extension must be applied to a static method of an InstanceMethods class", method, extension);
+				valid = false;
+				continue;
+			}
+			if (!isStatic) {
+				self = "((" + owner + ") self)";
+				if (delegate != null && wrapper == null) {
+					wrapper = wrapper(type, owner);
+					if (wrapper == null) return;
+				}
+			} else if (extension != null) {
+				if (parameters.isEmpty() || !types.isAssignable(delegate, types.erasure(parameters.get(0).asType()))) {
+					messager.printMessage(Diagnostic.Kind.ERROR, "@Extension method must take the delegate (" + delegate + ") as its first parameter", method, extension);
+					valid = false;
+					continue;
+				}
+				self = owner;
+				parameters = parameters.subList(1, parameters.size());
+			} else {
+				continue;
+			}
+			AnnotationMirror name = annotation(method, NAME);
+			if (name != null && !Identifiers.isValid((String) value(name, "value"))) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "Invalid identifier", method, name);
+				valid = false;
+				continue;
+			}
+			String binding = binding(method, isStatic, self, parameters);
+			if (binding == null) {
+				valid = false;
+				continue;
+			}
+			if (!isStatic && delegate != null) binding += ".wrappedBy(WRAPPER)";
+			if (annotation(method, NOT_ASYNC) != null) binding += ".notAsync()";
+			bindings.add(binding);
+		}
+		if (valid) write(type, owner, wrapper, bindings);
+	}
+
+	private String binding(ExecutableElement method, boolean isStatic, String self, List<? extends VariableElement> parameters) {
+		int arity = parameters.size();
+		boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+		StringJoiner arguments = new StringJoiner(", ");
+		if (isStatic) arguments.add("(" + sourceName(types.erasure(method.getParameters().get(0).asType())) + ") self");
+		for (int i = 0; i < arity; i++) {
+			String argument = arity > MAX_DIRECT_ARITY ? "arguments[" + i + "]" : ARGUMENTS[i];
+			arguments.add("(" + sourceName(types.erasure(parameters.get(i).asType())) + ") " + argument);
+		}
+		String call = self + "." + method.getSimpleName() + "(" + arguments + ")";
+		String function;
+		if (arity > MAX_DIRECT_ARITY) {
+			function = "(" + INVOKER + ".Spread) (self, arguments) -> "
+					+ (isVoid ? "{ " + call + "; return null; }" : call);
+		} else {
+			StringJoiner lambda = new StringJoiner(", ", "(", ")").add("self");
+			for (int i = 0; i < arity; i++) lambda.add(ARGUMENTS[i]);
+			function = "(" + INVOKER + "." + (isVoid ? "Run" : "Call") + arity + ") " + lambda + " -> " + call;
+		}
+		StringBuilder binding = new StringBuilder(BINDING + ".of(")
+				.append(elements.getConstantExpression(nameOf(method)))
+				.append(",\n\t\t\t\t\t").append(function);
+		boolean valid = true;
+		for (VariableElement parameter : parameters) {
+			String expression = parameter(parameter);
+			if (expression == null) valid = false;
+			binding.append(",\n\t\t\t\t\t").append(expression);
+		}
+		return valid ? binding.append(")").toString() : null;
+	}
+
+	private String parameter(VariableElement parameter) {
+		TypeMirror type = types.erasure(parameter.asType());
+		StringBuilder expression = new StringBuilder(BINDING + ".Parameter.of(")
+				.append(elements.getConstantExpression(nameOf(parameter)))
+				.append(", ").append(sourceName(type)).append(".class)");
+		if (annotation(parameter, NOT_NULL) != null) expression.append(".notNull()");
+		AnnotationMirror pattern = annotation(parameter, PATTERN);
+		if (pattern != null) {
+			if (!sourceName(type).equals("java.util.regex.Matcher") && !sourceName(type).equals("java.util.regex.MatchResult")) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "@Pattern must be applied to a Matcher or MatchResult parameter", parameter, pattern);
+				return null;
+			}
+			String regex = (String) value(pattern, "value");
+			try {
+				java.util.regex.Pattern.compile(regex);
+			} catch (PatternSyntaxException e) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "Invalid pattern: " + e.getDescription(), parameter, pattern);
+				return null;
+			}
+			expression.append(".pattern(").append(elements.getConstantExpression(regex))
+					.append(", ").append(value(pattern, "find")).append(")");
+		}
+		AnnotationMirror optional = null;
+		for (AnnotationMirror mirror : parameter.getAnnotationMirrors()) {
+			Element enclosing = mirror.getAnnotationType().asElement().getEnclosingElement();
+			if (!(enclosing instanceof TypeElement owner) || !owner.getQualifiedName().contentEquals(OPTIONAL)) continue;
+			if (optional != null) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "Only a single @Optional annotation is allowed", parameter, mirror);
+				return null;
+			}
+			optional = mirror;
+		}
+		if (optional != null) {
+			String fallback = fallback(parameter, type, optional);
+			if (fallback == null) return null;
+			expression.append(".optional(").append(fallback).append(")");
+		}
+		return expression.toString();
+	}
+
+	/**
+	 * Resolves the fallback of an {@code @Optional} annotation into a constant expression.
+	 *
+	 * @return The expression, or {@code null} if the annotation is invalid, which has been reported
+	 */
+	private String fallback(VariableElement parameter, TypeMirror type, AnnotationMirror optional) {
+		String kind = optional.getAnnotationType().asElement().getSimpleName().toString();
+		Object value = kind.equals("Null") || kind.equals("Empty") ? null : value(optional, "value");
+		TypeKind primitive = primitiveKind(type);
+		switch (kind) {
+			case "Null":
+				if (type.getKind().isPrimitive()) break;
+				return "null";
+			case "Boolean":
+				if (!accepts(type, TypeKind.BOOLEAN)) break;
+				return elements.getConstantExpression(value);
+			case "Character":
+				if (!accepts(type, TypeKind.CHAR)) break;
+				return elements.getConstantExpression(value);
+			case "String":
+				if (!types.isAssignable(elements.getTypeElement("java.lang.String").asType(), type)) break;
+				return elements.getConstantExpression(value);
+			case "Integer": {
+				long number = (Long) value;
+				Object constant = switch (primitive) {
+					case INT -> (int) number;
+					case SHORT -> (short) number;
+					case BYTE -> (byte) number;
+					case LONG -> number;
+					case FLOAT -> (float) number;
+					case DOUBLE -> (double) number;
+					default -> accepts(type, TypeKind.LONG) ? number : null;
+				};
+				if (constant == null) break;
+				if (constant instanceof Float || constant instanceof Double || ((Number) constant).longValue() == number) {
+					return elements.getConstantExpression(constant);
+				}
+				messager.printMessage(Diagnostic.Kind.ERROR, "Fallback " + number + " is out of range", parameter, optional);
+				return null;
+			}
+			case "Floating": {
+				double number = (Double) value;
+				if (primitive == TypeKind.FLOAT) return elements.getConstantExpression((float) number);
+				if (!accepts(type, TypeKind.DOUBLE)) break;
+				return elements.getConstantExpression(number);
+			}
+			case "Empty":
+				if (type instanceof ArrayType array) {
+					int dimensions = 0;
+					TypeMirror component = array;
+					while (component instanceof ArrayType nested) {
+						component = nested.getComponentType();
+						dimensions++;
+					}
+					return "new " + sourceName(component) + "[0]" + "[]".repeat(dimensions - 1);
+				}
+				if (accepts(type, "java.util.List")) return "java.util.List.of()";
+				if (accepts(type, "java.util.Set")) return "java.util.Set.of()";
+				if (accepts(type, "java.util.Map")) return "java.util.Map.of()";
+				break;
+			case "Enum": {
+				Element element = types.asElement(type);
+				if (element == null || element.getKind() != ElementKind.ENUM) break;
+				for (Element constant : element.getEnclosedElements()) {
+					if (constant.getKind() == ElementKind.ENUM_CONSTANT && constant.getSimpleName().contentEquals((String) value)) {
+						return sourceName(type) + "." + value;
+					}
+				}
+				messager.printMessage(Diagnostic.Kind.ERROR, "No enum constant " + sourceName(type) + "." + value, parameter, optional);
+				return null;
+			}
+			case "Duration": {
+				if (!types.isAssignable(elements.getTypeElement("java.time.Duration").asType(), type)) break;
+				try {
+					java.time.Duration duration = Fallbacks.parseDuration((String) value);
+					return "java.time.Duration.ofSeconds(" + duration.getSeconds() + "L, " + duration.getNano() + ")";
+				} catch (IllegalArgumentException e) {
+					messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), parameter, optional);
+					return null;
+				}
+			}
+		}
+		messager.printMessage(Diagnostic.Kind.ERROR, "@Optional." + kind + " is not applicable to " + type, parameter, optional);
+		return null;
+	}
+
+	/**
+	 * Generates a reference to the single public constructor of an {@code InstanceMethods} class.
+	 *
+	 * @return The expression, or {@code null} if the class has no such constructor or is an inner class,
+	 * which has been reported
+	 */
+	private String wrapper(TypeElement type, String owner) {
+		if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "Cannot wrap delegates in a non-static inner class", type);
+			return null;
+		}
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+				.filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+				.toList();
+		if (constructors.size() != 1 || constructors.get(0).getParameters().size() != 1) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "Must declare a single public constructor taking the delegate", type);
+			return null;
+		}
+		TypeMirror parameter = types.erasure(constructors.get(0).getParameters().get(0).asType());
+		return "delegate -> new " + owner + "((" + sourceName(parameter) + ") delegate)";
+	}
+
+	private void write(TypeElement type, String owner, String wrapper, List<String> bindings) {
+		String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+		String binaryName = elements.getBinaryName(type).toString();
+		String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + SUFFIX;
+		String name = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+			if (!packageName.isEmpty()) writer.write("package " + packageName + ";\n\n");
+			writer.write("/**\n * Generated bindings of {@link " + owner + "}.\n */\n");
+			if (elements.getTypeElement(GENERATED) != null) {
+				writer.write("@" + GENERATED + "(\"" + BindingProcessor.class.getName() + "\")\n");
+			}
+			writer.write("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+			writer.write("public final class " + simpleName + " implements " + BINDING_TABLE + " {\n");
+			if (wrapper != null) {
+				writer.write("\tprivate static final java.util.function.Function<Object, Object> WRAPPER = " + wrapper + ";\n");
+			}
+			writer.write("\tprivate static final java.util.List<" + BINDING + "> BINDINGS = java.util.List.of(");
+			for (int i = 0; i < bindings.size(); i++) {
+				writer.write((i == 0 ? "\n\t\t\t" : ",\n\t\t\t") + bindings.get(i));
+			}
+			writer.write(");\n\n");
+			writer.write("\t@Override\n\tpublic Class<?> getOwner() {\n\t\treturn " + owner + ".class;\n\t}\n\n");
+			writer.write("\t@Override\n\tpublic java.util.List<" + BINDING + "> getBindings() {\n\t\treturn BINDINGS;\n\t}\n\n");
+			writer.write("}\n");
+			tables.put(name, type);
+		} catch (IOException e) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + name + ": " + e.getMessage(), type);
+		}
+	}
+
+	/**
+	 * Registers all generated tables as services of {@code BindingTable}.
+	 */
+	private void register() {
+		if (tables.isEmpty()) return;
+		String resource = "META-INF/services/" + BINDING_TABLE;
+		Element[] owners = tables.values().toArray(Element[]::new);
+		try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resource, owners).openWriter()) {
+			for (String table : tables.keySet()) writer.write(table + "\n");
+		} catch (IOException e) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + resource + ": " + e.getMessage());
+		}
+	}
+
+	private TypeMirror delegateOf(TypeMirror type, TypeElement instanceMethods) {
+		for (TypeMirror supertype : types.directSupertypes(type)) {
+			if (types.isSameType(types.erasure(supertype), types.erasure(instanceMethods.asType()))) {
+				List<? extends TypeMirror> arguments = ((DeclaredType) supertype).getTypeArguments();
+				return arguments.isEmpty() ? elements.getTypeElement("java.lang.Object").asType() : arguments.get(0);
+			}
+			TypeMirror delegate = delegateOf(supertype, instanceMethods);
+			if (delegate != null) return delegate;
+		}
+		return null;
+	}
+
+	private boolean accepts(TypeMirror type, TypeKind primitive) {
+		return types.isAssignable(types.getPrimitiveType(primitive), type);
+	}
+
+	private boolean accepts(TypeMirror type, String collection) {
+		return types.isAssignable(types.erasure(elements.getTypeElement(collection).asType()), type);
+	}
+
+	private TypeKind primitiveKind(TypeMirror type) {
+		if (type.getKind().isPrimitive()) return type.getKind();
+		try {
+			return types.unboxedType(type).getKind();
+		} catch (IllegalArgumentException e) {
+			return TypeKind.NONE;
+		}
+	}
+
+	private String nameOf(Element element) {
+		AnnotationMirror name = annotation(element, NAME);
+		return name != null ? (String) value(name, "value") : element.getSimpleName().toString();
+	}
+
+	private AnnotationMirror annotation(Element element, String type) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(type)) return mirror;
+		}
+		return null;
+	}
+
+	private Object value(AnnotationMirror annotation, String key) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+				: elements.getElementValuesWithDefaults(annotation).entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(key)) return entry.getValue().getValue();
+		}
+		throw new IllegalArgumentException("No value " + key + " in " + annotation);
+	}
+
+	/**
+	 * Returns the name of an erased type as used in source code, without type annotations.
+	 */
+	private String sourceName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) return type.getKind().name().toLowerCase(Locale.ROOT);
+		if (type instanceof ArrayType array) return sourceName(array.getComponentType()) + "[]";
+		if (type instanceof DeclaredType declared) return ((TypeElement) declared.asElement()).getQualifiedName().toString();
+		return sourceName(types.erasure(type));
+	}
+
+}
@@ -0,0 +1,345 @@
+package com.sniskus.helix.processor;
+
+import com.sniskus.helix.api.annotate.arguments.Fallbacks;
+import com.sniskus.helix.api.implementation.Binding;
+import com.sniskus.helix.api.implementation.BindingTable;
+import com.sniskus.helix.api.implementation.MethodInvoker;
+import com.sniskus.helix.api.implementation.StaticMethods;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingProcessorTest {
+
+	@TempDir
+	Path output;
+
+	@Test
+	void generatesStaticBindings() throws Exception {
+		Compilation compilation = compile(Map.of("test.Greetings", """
+				package test;
+
+				import com.sniskus.helix.api.annotate.Name;
+				import com.sniskus.helix.api.annotate.arguments.Optional;
+				import com.sniskus.helix.api.implementation.StaticMethods;
+
+				public class Greetings implements StaticMethods {
+					public String greet(String name) {
+						return "Hello, " + name;
+					}
+
+					@Name("add")
+					public int sum(int a, @Name("b") @Optional.Integer(2) int second) {
+						return a + second;
+					}
+
+					public static void ignored() { }
+
+					void hidden() { }
+				}
+				"""));
+		compilation.assertSuccess();
+		Class<?> owner = compilation.load("test.Greetings");
+		BindingTable table = BindingTable.find(owner);
+		assertNotNull(table);
+		assertEquals(owner, table.getOwner());
+		assertEquals(List.of("greet", "add"), table.getBindings().stream().map(Binding::getName).toList());
+
+		StaticMethods methods = (StaticMethods) owner.getConstructor().newInstance();
+		Binding add = table.getBindings().get(1);
+		assertEquals("b", add.getParameters().get(1).getName());
+		assertEquals(2, add.getParameters().get(1).getFallback());
+		assertEquals("Hello, Steve", MethodInvoker.of(methods, table.getBindings().get(0)).invoke(null, "Steve"));
+		assertEquals(5, MethodInvoker.of(methods, add).invoke(null, 2, 3));
+	}
+
+	@Test
+	void generatesInstanceWrappersAndExtensions() throws Exception {
+		Compilation compilation = compile(Map.of("test.Builders", """
+				package test;
+
+				import com.sniskus.helix.api.annotate.methods.Extension;
+				import com.sniskus.helix.api.implementation.InstanceMethods;
+
+				public class Builders extends InstanceMethods<StringBuilder> {
+					public Builders(StringBuilder delegate) {
+						super(delegate);
+					}
+
+					public int size() {
+						return delegate.length();
+					}
+
+					@Extension
+					public static char first(CharSequence self) {
+						return self.charAt(0);
+					}
+
+					public static char last(StringBuilder self) {
+						return self.charAt(self.length() - 1);
+					}
+				}
+				"""));
+		compilation.assertSuccess();
+		BindingTable table = BindingTable.find(compilation.load("test.Builders"));
+		assertNotNull(table);
+		assertEquals(List.of("size", "first"), table.getBindings().stream().map(Binding::getName).toList());
+		assertEquals(3, MethodInvoker.of(table.getBindings().get(0)).invoke(new StringBuilder("abc")));
+		assertEquals('a', MethodInvoker.of(table.getBindings().get(1)).invoke(new StringBuilder("abc")));
+	}
+
+	@Test
+	void keepsNestedTableNamesDistinct() throws Exception {
+		Compilation compilation = compile(Map.of(
+				"test.Outer", """
+						package test;
+
+						public class Outer {
+							public static class Inner implements com.sniskus.helix.api.implementation.StaticMethods {
+								public int nested() { return 1; }
+							}
+						}
+						""",
+				"test.Outer_Inner", """
+						package test;
+
+						public class Outer_Inner implements com.sniskus.helix.api.implementation.StaticMethods {
+							public int flat() { return 2; }
+						}
+						"""));
+		compilation.assertSuccess();
+		assertEquals(List.of("test.Outer$Inner_HelixBindings", "test.Outer_Inner_HelixBindings"), Files.readAllLines(
+				output.resolve("META-INF/services/com.sniskus.helix.api.implementation.BindingTable")));
+		Class<?> nested = compilation.load("test.Outer$Inner");
+		Class<?> flat = compilation.load("test.Outer_Inner");
+		assertEquals(nested, BindingTable.find(nested).getOwner());
+		assertEquals(flat, BindingTable.find(flat).getOwner());
+		assertEquals("nested", BindingTable.find(nested).getBindings().get(0).getName());
+		assertEquals("flat", BindingTable.find(flat).getBindings().get(0).getName());
+	}
+
+	@Test
+	void resolvesFallbacksForParameterTypes() throws Exception {
+		Compilation compilation = compile(Map.of("test.Fallbacks", """
+				package test;
+
+				import com.sniskus.helix.api.annotate.arguments.Optional;
+				import com.sniskus.helix.api.implementation.StaticMethods;
+
+				public class Fallbacks implements StaticMethods {
+					public void fallbacks(
+							@Optional.Integer(3) double widened,
+							@Optional.Integer(4) Float boxed,
+							@Optional.Integer(5) Number number,
+							@Optional.Integer(6) byte narrow,
+							@Optional.Floating(1.5) float single,
+							@Optional.Floating(2.5) Object object,
+							@Optional.Boolean(true) Boolean flag,
+							@Optional.Character('x') char letter,
+							@Optional.String("text") CharSequence text,
+							@Optional.Duration("1m30s") java.time.Duration duration,
+							@Optional.Enum("SECONDS") java.util.concurrent.TimeUnit unit,
+							@Optional.Empty java.util.List<String> list,
+							@Optional.Null String none) { }
+				}
+				"""));
+		compilation.assertSuccess();
+		List<Object> fallbacks = BindingTable.find(compilation.load("test.Fallbacks")).getBindings().get(0).getParameters().stream()
+				.map(Binding.Parameter::getFallback)
+				.toList();
+		assertEquals(3.0, fallbacks.get(0));
+		assertEquals(4.0f, fallbacks.get(1));
+		assertEquals(5L, fallbacks.get(2));
+		assertEquals((byte) 6, fallbacks.get(3));
+		assertEquals(1.5f, fallbacks.get(4));
+		assertEquals(2.5, fallbacks.get(5));
+		assertEquals(true, fallbacks.get(6));
+		assertEquals('x', fallbacks.get(7));
+		assertEquals("text", fallbacks.get(8));
+		assertEquals(Duration.ofSeconds(90), fallbacks.get(9));
+		assertEquals(TimeUnit.SECONDS, fallbacks.get(10));
+		assertEquals(List.of(), fallbacks.get(11));
+		assertNull(fallbacks.get(12));
+	}
+
+	@Test
+	void reportsInapplicableFallbacks() {
+		assertError("@Optional.Integer(1) String value", "@Optional.Integer is not applicable");
+		assertError("@Optional.Integer(1) char value", "@Optional.Integer is not applicable");
+		assertError("@Optional.Floating(1) int value", "@Optional.Floating is not applicable");
+		assertError("@Optional.Floating(1) Long value", "@Optional.Floating is not applicable");
+		assertError("@Optional.Boolean(true) int value", "@Optional.Boolean is not applicable");
+		assertError("@Optional.Character('a') String value", "@Optional.Character is not applicable");
+		assertError("@Optional.String(\"a\") int value", "@Optional.String is not applicable");
+		assertError("@Optional.Null int value", "@Optional.Null is not applicable");
+		assertError("@Optional.Integer(300) byte value", "out of range");
+		assertError("@Optional.Enum(\"WEEKS\") java.util.concurrent.TimeUnit value", "No enum constant");
+		assertError("@Optional.Duration(\"5y\") java.time.Duration value", "Invalid duration");
+	}
+
+	@Test
+	void validatesLikeTheRuntime() throws Exception {
+		Compilation compilation = compile(Map.of("test.Durations", """
+				package test;
+
+				import com.sniskus.helix.api.annotate.Name;
+				import com.sniskus.helix.api.annotate.arguments.Optional;
+
+				public class Durations implements com.sniskus.helix.api.implementation.StaticMethods {
+					@Name("größe")
+					public void pause(@Optional.Duration("1.5t") java.time.Duration delay) { }
+				}
+				"""));
+		compilation.assertSuccess();
+		Binding binding = BindingTable.find(compilation.load("test.Durations")).getBindings().get(0);
+		assertEquals("größe", binding.getName());
+		assertEquals(Fallbacks.parseDuration("1.5t"), binding.getParameters().get(0).getFallback());
+		assertEquals(Duration.ofMillis(75), binding.getParameters().get(0).getFallback());
+	}
+
+	@Test
+	void reportsInvalidNames() {
+		Compilation compilation = compile(Map.of("test.Names", """
+				package test;
+
+				public class Names implements com.sniskus.helix.api.implementation.StaticMethods {
+					@com.sniskus.helix.api.annotate.Name("1st")
+					public void first() { }
+				}
+				"""));
+		compilation.assertError("Invalid identifier");
+		assertThrows(ClassNotFoundException.class, () -> compilation.load("test.Names" + BindingTable.SUFFIX));
+	}
+
+	@Test
+	void reportsNonStaticInnerClasses() {
+		compile(Map.of("test.Outer", """
+				package test;
+
+				public class Outer {
+					public class Builders extends com.sniskus.helix.api.implementation.InstanceMethods<StringBuilder> {
+						public Builders(StringBuilder delegate) {
+							super(delegate);
+						}
+
+						public int size() {
+							return delegate.length();
+						}
+					}
+				}
+				""")).assertError("non-static inner class");
+	}
+
+	@Test
+	void reportsInvalidExtensions() {
+		compile(Map.of("test.Builders", """
+				package test;
+
+				import com.sniskus.helix.api.annotate.methods.Extension;
+
+				public class Builders extends com.sniskus.helix.api.implementation.InstanceMethods<StringBuilder> {
+					public Builders(StringBuilder delegate) {
+						super(delegate);
+					}
+
+					@Extension
+					public static int length(String self) {
+						return self.length();
+					}
+				}
+				""")).assertError("must take the delegate");
+		compile(Map.of("test.Methods", """
+				package test;
+
+				public class Methods implements com.sniskus.helix.api.implementation.StaticMethods {
+					@com.sniskus.helix.api.annotate.methods.Extension
+					public static int length(String self) {
+						return self.length();
+					}
+				}
+				""")).assertError("@Extension must be applied");
+	}
+
+	private void assertError(String parameter, String message) {
+		compile(Map.of("test.Invalid", """
+				package test;
+
+				import com.sniskus.helix.api.annotate.arguments.Optional;
+
+				public class Invalid implements com.sniskus.helix.api.implementation.StaticMethods {
+					public void invalid(%s) { }
+				}
+				""".formatted(parameter))).assertError(message);
+	}
+
+	private Compilation compile(Map<String, String> sources) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		List<JavaFileObject> units = new ArrayList<>();
+		sources.forEach((name, source) -> units.add(new Source(name, source)));
+		List<String> options = List.of(
+				"-d", output.toString(),
+				"-s", output.toString(),
+				"-classpath", System.getProperty("java.class.path"));
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, units);
+		task.setProcessors(List.of(new BindingProcessor()));
+		return new Compilation(task.call(), diagnostics.getDiagnostics(), output);
+	}
+
+	private record Compilation(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, Path output) {
+
+		void assertSuccess() {
+			assertTrue(success, diagnostics::toString);
+		}
+
+		void assertError(String message) {
+			assertFalse(success, "Compilation succeeded");
+			assertTrue(diagnostics.stream().anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR
+					&& diagnostic.getMessage(null).contains(message)), diagnostics::toString);
+		}
+
+		Class<?> load(String name) throws ClassNotFoundException {
+			try {
+				URLClassLoader loader = new URLClassLoader(new URL[] { output.toUri().toURL() }, BindingProcessorTest.class.getClassLoader());
+				return Class.forName(name, true, loader);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private static final class Source extends SimpleJavaFileObject {
+		private final String source;
+
+		private Source(String name, String source) {
+			super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.source = source;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return source;
+		}
+	}
+
+}
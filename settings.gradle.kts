@@ -1,2 +1,3 @@
 rootProject.name = "HelixApi"
 
+include("processor")
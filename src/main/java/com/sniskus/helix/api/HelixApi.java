@@ -1,15 +1,20 @@
 package com.sniskus.helix.api;
 
 import com.sniskus.helix.api.implementation.EventBus;
+import com.sniskus.helix.api.implementation.MainThreadExecutor;
 import com.sniskus.helix.api.implementation.Namespace;
 import com.sniskus.helix.api.implementation.Trigger;
 import com.sniskus.helix.api.script.Dictionary;
+import com.sniskus.helix.api.script.FlatDictionary;
 import com.sniskus.helix.api.script.Parser;
 import com.sniskus.helix.api.script.Script;
+import com.sniskus.helix.api.script.ScriptWatcher;
 import com.sniskus.helix.api.script.Source;
+import com.sniskus.helix.api.script.SyntaxException;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -63,6 +68,16 @@ public interface HelixApi {
 	@Contract(pure = true)
 	@NotNull EventBus getEventBus();
 
+	/**
+	 * Returns the executor used for handing off calls of
+	 * {@link com.sniskus.helix.api.annotate.methods.NotAsync} methods
+	 * from asynchronous scripts to the main thread.
+	 *
+	 * @return The main thread executor
+	 */
+	@Contract(pure = true)
+	@NotNull MainThreadExecutor getMainThreadExecutor();
+
 	/**
 	 * Returns the root namespace of a module.
 	 *
@@ -83,13 +98,33 @@ public interface HelixApi {
 	@NotNull Parser getParser();
 
 	/**
-	 * Creates a new dictionary.
+	 * Reloads a single script file.
+	 * <p>
+	 * Only the given file is reparsed. Its script is swapped atomically, so concurrently
+	 * running triggers observe either the old or the new script. Only the triggers declared
+	 * by this file are re-registered: {@link Trigger#onListenerUnregister()} is called for its
+	 * previous trigger instances and {@link Trigger#onListenerRegister()} for the new ones.
+	 * If the file no longer exists, its script is unloaded. If the file contains syntax
+	 * errors, the previous script remains active.
+	 * </p>
+	 *
+	 * @param source The file to reload
+	 * @throws IOException     If an I/O error occurs while reading the file
+	 * @throws SyntaxException If the file contains syntax errors
+	 * @see ScriptWatcher
+	 */
+	void reload(Source.@NotNull ForFile source) throws IOException, SyntaxException;
+
+	/**
+	 * Creates a new dictionary. By default, this is a {@link FlatDictionary}.
 	 *
 	 * @return A new dictionary
 	 * @see Script#run(Dictionary)
 	 * @see Trigger#handle(Object, Dictionary)
 	 */
 	@Contract(value = "-> new", pure = true)
-	@NotNull Dictionary dict();
+	default @NotNull Dictionary dict() {
+		return new FlatDictionary();
+	}
 
 }
\ No newline at end of file
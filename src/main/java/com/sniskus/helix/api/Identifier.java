@@ -11,6 +11,8 @@ import static java.lang.annotation.ElementType.*;
 /**
  * Indicates that the annotated {@link String} represents an identifier, such as a
  * variable or method name, and must conform to the regex pattern {@link Identifier#PATTERN}.
+ * Identifiers are validated through {@link Identifiers#isValid(CharSequence)}, which avoids
+ * matching the pattern.
  */
 @Documented
 @Pattern(Identifier.PATTERN)
@@ -0,0 +1,55 @@
+package com.sniskus.helix.api;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Validates {@linkplain Identifier identifiers} without regular expressions.
+ * <p>
+ * {@link Identifier#PATTERN} only consists of character classes, so it is checked by a
+ * single pass over the code points, which is considerably faster than matching the pattern
+ * and allocates nothing. The result is equivalent to matching the whole input against the
+ * pattern: the first code point must be a letter, {@code _} or {@code $}, and every following
+ * code point a letter, an ASCII digit, {@code _} or {@code $}.
+ * </p>
+ */
+public final class Identifiers {
+
+	private Identifiers() { }
+
+	/**
+	 * Checks whether the given input is a valid identifier.
+	 *
+	 * @param input The input to check
+	 * @return {@code true} if the input matches {@link Identifier#PATTERN}, {@code false} otherwise
+	 */
+	@Contract(value = "null -> false", pure = true)
+	public static boolean isValid(@Nullable CharSequence input) {
+		if (input == null || input.isEmpty()) return false;
+		for (int i = 0; i < input.length(); ) {
+			int codePoint = Character.codePointAt(input, i);
+			boolean valid = Character.isLetter(codePoint)
+					|| codePoint == '_'
+					|| codePoint == '$'
+					|| (i > 0 && codePoint >= '0' && codePoint <= '9');
+			if (!valid) return false;
+			i += Character.charCount(codePoint);
+		}
+		return true;
+	}
+
+	/**
+	 * Ensures that the given input is a valid identifier.
+	 *
+	 * @param input The input to check
+	 * @return The input
+	 * @throws IllegalArgumentException If the input does not match {@link Identifier#PATTERN}
+	 */
+	@Contract(value = "_ -> param1", pure = true)
+	public static @NotNull String check(@NotNull String input) {
+		if (!isValid(input)) throw new IllegalArgumentException("Invalid identifier: '" + input + "'");
+		return input;
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.sniskus.helix.api.annotate.arguments;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Primitives;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the fallback values declared by {@link Optional} annotations.
+ * <p>
+ * Fallbacks are resolved into constants once when a method is registered, so that
+ * omitting an argument costs nothing at runtime. Fallbacks of methods compiled with the
+ * Helix annotation processor are already resolved at compile time.
+ * </p>
+ *
+ * @see com.sniskus.helix.api.implementation.Binding.Parameter#getFallback()
+ */
+public final class Fallbacks {
+
+	private Fallbacks() { }
+
+	/**
+	 * Returns the {@link Optional} annotation of a parameter.
+	 *
+	 * @param parameter The parameter
+	 * @return The annotation, or {@code null} if the parameter is not optional
+	 * @throws IllegalArgumentException If the parameter declares multiple {@code Optional} annotations
+	 */
+	public static @Nullable Annotation find(@NotNull java.lang.reflect.Parameter parameter) {
+		Annotation optional = null;
+		for (Annotation annotation : parameter.getAnnotations()) {
+			if (annotation.annotationType().getEnclosingClass() != Optional.class) continue;
+			Preconditions.checkArgument(optional == null, "%s declares multiple @Optional annotations", parameter);
+			optional = annotation;
+		}
+		return optional;
+	}
+
+	/**
+	 * Resolves the fallback declared by an {@link Optional} annotation for a parameter type.
+	 *
+	 * @param optional The annotation
+	 * @param type     The type of the parameter
+	 * @return The fallback, converted to the parameter type
+	 * @throws IllegalArgumentException If the annotation is not applicable to the type,
+	 *                                  or its value cannot be converted
+	 */
+	public static @Nullable Object resolve(@NotNull Annotation optional, @NotNull Class<?> type) {
+		if (optional instanceof Optional.Null) {
+			Preconditions.checkArgument(!type.isPrimitive(), "@Optional.Null is not applicable to %s", type);
+			return null;
+		}
+		if (optional instanceof Optional.Boolean fallback) {
+			Preconditions.checkArgument(accepts(type, boolean.class), "@Optional.Boolean is not applicable to %s", type);
+			return fallback.value();
+		}
+		if (optional instanceof Optional.Character fallback) {
+			Preconditions.checkArgument(accepts(type, char.class), "@Optional.Character is not applicable to %s", type);
+			return fallback.value();
+		}
+		if (optional instanceof Optional.String fallback) {
+			Preconditions.checkArgument(type.isAssignableFrom(String.class), "@Optional.String is not applicable to %s", type);
+			return fallback.value();
+		}
+		if (optional instanceof Optional.Integer fallback) {
+			long value = fallback.value();
+			Class<?> primitive = Primitives.unwrap(type);
+			if (primitive == int.class) return narrow(value, Integer.MIN_VALUE, Integer.MAX_VALUE, (int) value);
+			if (primitive == short.class) return narrow(value, Short.MIN_VALUE, Short.MAX_VALUE, (short) value);
+			if (primitive == byte.class) return narrow(value, Byte.MIN_VALUE, Byte.MAX_VALUE, (byte) value);
+			if (primitive == float.class) return (float) value;
+			if (primitive == double.class) return (double) value;
+			Preconditions.checkArgument(accepts(type, long.class), "@Optional.Integer is not applicable to %s", type);
+			return value;
+		}
+		if (optional instanceof Optional.Floating fallback) {
+			if (Primitives.unwrap(type) == float.class) return (float) fallback.value();
+			Preconditions.checkArgument(accepts(type, double.class), "@Optional.Floating is not applicable to %s", type);
+			return fallback.value();
+		}
+		if (optional instanceof Optional.Empty) {
+			if (type.isArray()) return Array.newInstance(type.getComponentType(), 0);
+			if (type.isAssignableFrom(List.class)) return List.of();
+			if (type.isAssignableFrom(Set.class)) return Set.of();
+			if (type.isAssignableFrom(Map.class)) return Map.of();
+			throw new IllegalArgumentException("@Optional.Empty is not applicable to " + type);
+		}
+		if (optional instanceof Optional.Enum fallback) {
+			Preconditions.checkArgument(type.isEnum(), "@Optional.Enum is not applicable to %s", type);
+			for (Object constant : type.getEnumConstants()) {
+				if (((Enum<?>) constant).name().equals(fallback.value())) return constant;
+			}
+			throw new IllegalArgumentException("No enum constant " + type.getName() + "." + fallback.value());
+		}
+		if (optional instanceof Optional.Duration fallback) {
+			Preconditions.checkArgument(type.isAssignableFrom(Duration.class), "@Optional.Duration is not applicable to %s", type);
+			return parseDuration(fallback.value());
+		}
+		throw new IllegalArgumentException("Not an @Optional annotation: " + optional);
+	}
+
+	/**
+	 * Parses a duration in the Helix format, such as {@code 10s} or {@code 1m30s}.
+	 * <p>
+	 * A duration consists of one or more amounts, each followed by a unit: {@code ms}
+	 * (milliseconds), {@code t} (ticks of 50 milliseconds), {@code s} (seconds), {@code m}
+	 * (minutes), {@code h} (hours) or {@code d} (days). Amounts may have decimal places.
+	 * </p>
+	 *
+	 * @param input The duration
+	 * @return The parsed duration
+	 * @throws IllegalArgumentException If the input is not a valid duration
+	 */
+	@Contract(pure = true)
+	public static @NotNull Duration parseDuration(@NotNull String input) {
+		Preconditions.checkArgument(!input.isEmpty(), "Empty duration");
+		Duration duration = Duration.ZERO;
+		int index = 0;
+		while (index < input.length()) {
+			int start = index;
+			while (index < input.length() && isAmount(input.charAt(index))) index++;
+			int unit = index;
+			while (index < input.length() && Character.isLetter(input.charAt(index))) index++;
+			Preconditions.checkArgument(start < unit, "Invalid duration: '%s'", input);
+			long nanos = switch (input.substring(unit, index)) {
+				case "ms" -> 1_000_000L;
+				case "t" -> 50_000_000L;
+				case "s" -> 1_000_000_000L;
+				case "m" -> 60_000_000_000L;
+				case "h" -> 3_600_000_000_000L;
+				case "d" -> 86_400_000_000_000L;
+				default -> throw new IllegalArgumentException("Invalid duration unit in '" + input + "'");
+			};
+			try {
+				BigDecimal amount = new BigDecimal(input.substring(start, unit)).multiply(BigDecimal.valueOf(nanos));
+				duration = duration.plusNanos(amount.setScale(0, RoundingMode.HALF_UP).longValueExact());
+			} catch (ArithmeticException | NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid duration: '" + input + "'", e);
+			}
+		}
+		return duration;
+	}
+
+	/**
+	 * Checks whether a parameter type accepts values of a primitive type, including through
+	 * boxing, like an assignment would.
+	 */
+	private static boolean accepts(@NotNull Class<?> type, @NotNull Class<?> primitive) {
+		return type == primitive || type.isAssignableFrom(Primitives.wrap(primitive));
+	}
+
+	private static boolean isAmount(char c) {
+		return (c >= '0' && c <= '9') || c == '.';
+	}
+
+	private static @NotNull Object narrow(long value, long min, long max, @NotNull Object narrowed) {
+		Preconditions.checkArgument(value >= min && value <= max, "Fallback %s is out of range", value);
+		return narrowed;
+	}
+
+}
@@ -15,6 +15,10 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * This annotation provides different sub-annotations to define fallback
  * values for various data types.
  * </p>
+ * <p>
+ * Fallbacks are resolved into constants once when the method is registered, see
+ * {@link Fallbacks}, and passed directly for omitted arguments.
+ * </p>
  */
 @Target({})
 public @interface Optional {
@@ -105,7 +109,7 @@ public @interface Optional {
 
 	/**
 	 * Declares a fallback value for a {@link java.time.Duration} parameter.
-	 * Example: {@code 10s}
+	 * Example: {@code 10s}, parsed by {@link Fallbacks#parseDuration(java.lang.String)}
 	 * <p>
 	 * See: <a href="https://sniskus.gitbook.io/helix-wiki/data-types#duration">
 	 * Helix Documentation</a>
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 
 import static java.lang.annotation.ElementType.PARAMETER;
@@ -14,12 +15,18 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * Ensures that a string argument matches a specified regular expression pattern
  * and, if valid, provides a corresponding {@link Matcher} instance.
  * <p>
- * This annotation must be applied to a parameter of type {@link Matcher}.
+ * This annotation is applied to a parameter of type {@link Matcher}.
  * The argument passed is expected to be a string, which is validated
  * against the specified regex pattern. If the argument matches the pattern, a
  * {@link Matcher} instance representing the match will be passed in place of
  * the string. Otherwise, the argument is considered invalid, and a {@link ScriptException}
  * is thrown.
+ * <p>
+ * The annotation may also be applied to a parameter of type {@link MatchResult}. Constant
+ * arguments of such parameters are validated once while parsing, and the same immutable
+ * result is passed to every call, so calls with literal strings skip matching entirely.
+ * The pattern itself is compiled once and shared, see {@link Patterns}.
+ * </p>
  */
 @Retention(RUNTIME)
 @Target(PARAMETER)
@@ -0,0 +1,88 @@
+package com.sniskus.helix.api.annotate.arguments;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sniskus.helix.api.script.ScriptException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles and applies the regular expressions of {@link Pattern} annotations.
+ * <p>
+ * Each distinct expression is compiled once and shared, so methods declaring the same
+ * pattern, as well as every call of these methods, reuse a single compiled pattern.
+ * Compiled patterns are only held weakly by the cache, so expressions which are no longer
+ * referenced by any {@linkplain com.sniskus.helix.api.implementation.Binding.Parameter parameter},
+ * such as those of unloaded modules or built at runtime, do not accumulate.
+ * </p>
+ */
+public final class Patterns {
+	private static final Cache<String, java.util.regex.Pattern> CACHE = CacheBuilder.newBuilder().weakValues().build();
+
+	private Patterns() { }
+
+	/**
+	 * Returns the compiled form of a regular expression.
+	 *
+	 * @param regex The regular expression
+	 * @return The shared compiled pattern
+	 * @throws PatternSyntaxException If the expression is invalid
+	 */
+	public static @NotNull java.util.regex.Pattern compile(@NotNull String regex) {
+		java.util.regex.Pattern pattern = CACHE.getIfPresent(regex);
+		if (pattern != null) return pattern;
+		pattern = java.util.regex.Pattern.compile(regex);
+		java.util.regex.Pattern existing = CACHE.asMap().putIfAbsent(regex, pattern);
+		return existing != null ? existing : pattern;
+	}
+
+	/**
+	 * Returns the compiled pattern of an annotation.
+	 *
+	 * @param annotation The annotation
+	 * @return The shared compiled pattern
+	 * @throws PatternSyntaxException If the expression is invalid
+	 */
+	public static @NotNull java.util.regex.Pattern compile(@NotNull Pattern annotation) {
+		return compile(annotation.value());
+	}
+
+	/**
+	 * Validates an argument against a pattern.
+	 *
+	 * @param pattern The compiled pattern
+	 * @param find    Whether to use {@link Matcher#find()} instead of {@link Matcher#matches()}
+	 * @param input   The argument
+	 * @return A matcher in the matched state
+	 * @throws ScriptException If the argument does not match
+	 */
+	public static @NotNull Matcher match(@NotNull java.util.regex.Pattern pattern, boolean find, @NotNull CharSequence input) {
+		Matcher matcher = pattern.matcher(input);
+		if (!(find ? matcher.find() : matcher.matches())) {
+			throw new ScriptException("'" + input + "' does not match the pattern " + pattern.pattern());
+		}
+		return matcher;
+	}
+
+	/**
+	 * Validates a constant argument while parsing. Since the argument never changes, the
+	 * returned result can be passed to every call of a method with a {@link MatchResult}
+	 * parameter, without matching again.
+	 *
+	 * @param pattern The compiled pattern
+	 * @param find    Whether to use {@link Matcher#find()} instead of {@link Matcher#matches()}
+	 * @param input   The constant argument
+	 * @return An immutable match result, or {@code null} if the argument does not match
+	 */
+	@Contract(pure = true)
+	public static @Nullable MatchResult matchConstant(@NotNull java.util.regex.Pattern pattern, boolean find, @NotNull CharSequence input) {
+		Matcher matcher = pattern.matcher(input);
+		return (find ? matcher.find() : matcher.matches()) ? matcher.toMatchResult() : null;
+	}
+
+}
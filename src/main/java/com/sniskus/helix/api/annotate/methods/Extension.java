@@ -0,0 +1,23 @@
+package com.sniskus.helix.api.annotate.methods;
+
+import com.sniskus.helix.api.implementation.InstanceMethods;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Registers a public static method of an {@link InstanceMethods} class as an instance method.
+ * <p>
+ * The first parameter of the annotated method receives the delegate, so it must accept the
+ * delegate type of the class. Calling the method does not create a wrapper around the delegate.
+ * Static methods without this annotation are not registered.
+ * </p>
+ *
+ * @see InstanceMethods
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface Extension { }
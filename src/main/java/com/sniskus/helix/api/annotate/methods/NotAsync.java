@@ -1,5 +1,7 @@
 package com.sniskus.helix.api.annotate.methods;
 
+import com.sniskus.helix.api.implementation.ExecutionPolicy;
+import com.sniskus.helix.api.implementation.MainThreadExecutor;
 import com.sniskus.helix.api.script.ScriptException;
 
 import java.lang.annotation.Retention;
@@ -11,8 +13,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 /**
  * Prevents a method from being executed asynchronously.
  * <p>
- * If the annotated method is called from an asynchronous context,
- * a {@link ScriptException} will be thrown.
+ * If the annotated method is called from an asynchronous context, such as a listener
+ * of a trigger with an asynchronous {@link ExecutionPolicy}, the call is executed on
+ * the server main thread and the script waits for its result. Calls are queued on the
+ * {@link MainThreadExecutor} and executed in one batch per tick. A {@link ScriptException}
+ * is only thrown if the main thread cannot be reached, for example during shutdown.
  * </p>
  */
 @Retention(RUNTIME)
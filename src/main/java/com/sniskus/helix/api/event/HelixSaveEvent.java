@@ -1,9 +1,18 @@
 package com.sniskus.helix.api.event;
 
+import com.sniskus.helix.api.script.Source;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Called when Helix saves its data, such as scripts edited in-game. Scripts are saved
+ * in one batch through {@link Source.Writable#saveAll(Map, Executor)}, so only files
+ * whose content changed are written.
+ */
 public final class HelixSaveEvent extends Event {
 	private static final HandlerList hL = new HandlerList();
 
@@ -0,0 +1,349 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import com.sniskus.helix.api.Identifier;
+import com.sniskus.helix.api.Identifiers;
+import com.sniskus.helix.api.annotate.Name;
+import com.sniskus.helix.api.annotate.arguments.Fallbacks;
+import com.sniskus.helix.api.annotate.arguments.Patterns;
+import com.sniskus.helix.api.script.ScriptException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Precomputed metadata of a method bound from {@link StaticMethods} or {@link InstanceMethods}.
+ * <p>
+ * Bindings are generated at compile time by the Helix annotation processor, which resolves
+ * the {@link com.sniskus.helix.api.annotate annotations} of each method and its parameters
+ * and calls the method through a plain lambda. Registering a generated binding therefore
+ * performs no reflection.
+ * </p>
+ *
+ * @see BindingTable
+ * @see MethodInvoker#of(Binding)
+ */
+public final class Binding {
+	private final String name;
+	private final Object function;
+	private final Parameter[] parameters;
+	private final @Nullable Function<Object, Object> wrapper;
+	private final boolean notAsync;
+
+	private Binding(
+			@NotNull String name,
+			@NotNull Object function,
+			@NotNull Parameter[] parameters,
+			@Nullable Function<Object, Object> wrapper,
+			boolean notAsync) {
+		this.name = name;
+		this.function = function;
+		this.parameters = parameters;
+		this.wrapper = wrapper;
+		this.notAsync = notAsync;
+	}
+
+	/**
+	 * Creates a binding.
+	 *
+	 * @param name       The name of the method in scripts
+	 * @param function   The generated function calling the method, one of the invoker
+	 *                   interfaces declared by {@link MethodInvoker} matching the number of parameters
+	 * @param parameters The parameters of the method, excluding the delegate of static delegate methods
+	 * @return A new binding
+	 * @throws IllegalArgumentException If the name is not a valid identifier,
+	 *                                  or the function does not match the number of parameters
+	 */
+	@Contract(value = "_, _, _ -> new", pure = true)
+	public static @NotNull Binding of(
+			@NotNull @Identifier String name,
+			@NotNull Object function,
+			@NotNull Parameter @NotNull ... parameters) {
+		int arity = parameters.length;
+		boolean matches = switch (arity) {
+			case 0 -> function instanceof MethodInvoker.Call0 || function instanceof MethodInvoker.Run0;
+			case 1 -> function instanceof MethodInvoker.Call1 || function instanceof MethodInvoker.Run1;
+			case 2 -> function instanceof MethodInvoker.Call2 || function instanceof MethodInvoker.Run2;
+			case 3 -> function instanceof MethodInvoker.Call3 || function instanceof MethodInvoker.Run3;
+			default -> function instanceof MethodInvoker.Spread;
+		};
+		Preconditions.checkArgument(matches, "Function of %s does not take %s arguments", name, arity);
+		return new Binding(Identifiers.check(name), function, parameters.clone(), null, false);
+	}
+
+	/**
+	 * Returns a copy of this binding for an instance method of an {@link InstanceMethods}
+	 * class, which is called on a wrapper created from the delegate.
+	 *
+	 * @param wrapper The generated function creating the wrapper from the delegate
+	 * @return A new binding
+	 */
+	@Contract(value = "_ -> new", pure = true)
+	public @NotNull Binding wrappedBy(@NotNull Function<Object, Object> wrapper) {
+		return new Binding(name, function, parameters, Preconditions.checkNotNull(wrapper), notAsync);
+	}
+
+	/**
+	 * Returns a copy of this binding for a method annotated with
+	 * {@link com.sniskus.helix.api.annotate.methods.NotAsync}.
+	 *
+	 * @return A new binding
+	 */
+	@Contract(value = "-> new", pure = true)
+	public @NotNull Binding notAsync() {
+		return new Binding(name, function, parameters, wrapper, true);
+	}
+
+	/**
+	 * Returns the name of the method in scripts.
+	 *
+	 * @return The name
+	 */
+	@Contract(pure = true)
+	public @NotNull String getName() { return name; }
+
+	/**
+	 * Returns the number of parameters, excluding the delegate.
+	 *
+	 * @return The number of parameters
+	 */
+	@Contract(pure = true)
+	public int getArity() { return parameters.length; }
+
+	/**
+	 * Returns the parameters, excluding the delegate.
+	 *
+	 * @return An immutable list of the parameters
+	 */
+	@Contract(pure = true)
+	public @NotNull List<Parameter> getParameters() { return List.of(parameters); }
+
+	/**
+	 * Checks whether the method must be called on the main thread.
+	 *
+	 * @return {@code true} if the method is annotated with
+	 * {@link com.sniskus.helix.api.annotate.methods.NotAsync}, {@code false} otherwise
+	 */
+	@Contract(pure = true)
+	public boolean isNotAsync() { return notAsync; }
+
+	@NotNull Object function() { return function; }
+
+	@Nullable Function<Object, Object> wrapper() { return wrapper; }
+
+	@Override
+	public String toString() {
+		return name + Arrays.toString(parameters);
+	}
+
+	/**
+	 * A parameter of a bound method, along with its resolved argument annotations.
+	 */
+	public static final class Parameter {
+		private final String name;
+		private final Class<?> type;
+		private final boolean notNull;
+		private final @Nullable Pattern pattern;
+		private final boolean find;
+		private final boolean optional;
+		private final @Nullable Object fallback;
+
+		private Parameter(
+				@NotNull String name,
+				@NotNull Class<?> type,
+				boolean notNull,
+				@Nullable Pattern pattern,
+				boolean find,
+				boolean optional,
+				@Nullable Object fallback) {
+			this.name = name;
+			this.type = type;
+			this.notNull = notNull;
+			this.pattern = pattern;
+			this.find = find;
+			this.optional = optional;
+			this.fallback = fallback;
+		}
+
+		/**
+		 * Creates a required parameter without constraints.
+		 *
+		 * @param name The name of the parameter
+		 * @param type The erased type of the parameter
+		 * @return A new parameter
+		 */
+		@Contract(value = "_, _ -> new", pure = true)
+		public static @NotNull Parameter of(@NotNull String name, @NotNull Class<?> type) {
+			return new Parameter(Preconditions.checkNotNull(name), Preconditions.checkNotNull(type), false, null, false, false, null);
+		}
+
+		/**
+		 * Creates a parameter from the annotations of a reflected parameter. Used when
+		 * registering classes compiled without the annotation processor, so that all
+		 * annotations, including {@code Optional} fallbacks, are resolved once.
+		 *
+		 * @param parameter The reflected parameter
+		 * @return A new parameter
+		 * @throws IllegalArgumentException If an annotation of the parameter is invalid
+		 */
+		@Contract(value = "_ -> new", pure = true)
+		public static @NotNull Parameter reflect(@NotNull java.lang.reflect.Parameter parameter) {
+			Name name = parameter.getAnnotation(Name.class);
+			Parameter result = of(name != null ? name.value() : parameter.getName(), parameter.getType());
+			if (parameter.isAnnotationPresent(com.sniskus.helix.api.annotate.arguments.NotNull.class)) result = result.notNull();
+			com.sniskus.helix.api.annotate.arguments.Pattern pattern = parameter.getAnnotation(com.sniskus.helix.api.annotate.arguments.Pattern.class);
+			if (pattern != null) result = result.pattern(pattern.value(), pattern.find());
+			Annotation optional = Fallbacks.find(parameter);
+			if (optional != null) result = result.optional(Fallbacks.resolve(optional, parameter.getType()));
+			return result;
+		}
+
+		/**
+		 * Returns a copy of this parameter annotated with
+		 * {@link com.sniskus.helix.api.annotate.arguments.NotNull}.
+		 *
+		 * @return A new parameter
+		 */
+		@Contract(value = "-> new", pure = true)
+		public @NotNull Parameter notNull() {
+			return new Parameter(name, type, true, pattern, find, optional, fallback);
+		}
+
+		/**
+		 * Returns a copy of this parameter annotated with
+		 * {@link com.sniskus.helix.api.annotate.arguments.Pattern}.
+		 * The pattern is compiled once and shared between all parameters declaring it.
+		 *
+		 * @param pattern The regular expression
+		 * @param find    Whether the argument is validated using {@link Matcher#find()}
+		 * @return A new parameter
+		 * @throws java.util.regex.PatternSyntaxException If the expression is invalid
+		 */
+		@Contract(value = "_, _ -> new", pure = true)
+		public @NotNull Parameter pattern(@NotNull String pattern, boolean find) {
+			return new Parameter(name, type, notNull, Patterns.compile(pattern), find, optional, fallback);
+		}
+
+		/**
+		 * Returns a copy of this parameter annotated with one of the
+		 * {@link com.sniskus.helix.api.annotate.arguments.Optional} annotations.
+		 *
+		 * @param fallback The fallback value, already converted to the parameter type
+		 * @see Fallbacks#resolve(Annotation, Class)
+		 * @return A new parameter
+		 */
+		@Contract(value = "_ -> new", pure = true)
+		public @NotNull Parameter optional(@Nullable Object fallback) {
+			return new Parameter(name, type, notNull, pattern, find, true, fallback);
+		}
+
+		/**
+		 * Returns the name of the parameter.
+		 *
+		 * @return The name
+		 */
+		@Contract(pure = true)
+		public @NotNull String getName() { return name; }
+
+		/**
+		 * Returns the erased type of the parameter.
+		 *
+		 * @return The type
+		 */
+		@Contract(pure = true)
+		public @NotNull Class<?> getType() { return type; }
+
+		/**
+		 * Checks whether the argument must not be {@code null}.
+		 *
+		 * @return {@code true} if the parameter is not nullable, {@code false} otherwise
+		 */
+		@Contract(pure = true)
+		public boolean isNotNull() { return notNull; }
+
+		/**
+		 * Returns the regular expression the argument must match.
+		 *
+		 * @return The pattern, or {@code null} if the argument is not validated
+		 */
+		@Contract(pure = true)
+		public @Nullable String getPattern() { return pattern != null ? pattern.pattern() : null; }
+
+		/**
+		 * Returns the compiled regular expression the argument must match.
+		 *
+		 * @return The shared compiled pattern, or {@code null} if the argument is not validated
+		 */
+		@Contract(pure = true)
+		public @Nullable Pattern getCompiledPattern() { return pattern; }
+
+		/**
+		 * Validates an argument against the pattern of this parameter.
+		 *
+		 * @param input The argument
+		 * @return A matcher in the matched state
+		 * @throws IllegalStateException If the argument is not validated
+		 * @throws ScriptException       If the argument does not match
+		 * @see Patterns#match(Pattern, boolean, CharSequence)
+		 */
+		public @NotNull Matcher match(@NotNull CharSequence input) {
+			Preconditions.checkState(pattern != null, "%s is not validated", name);
+			return Patterns.match(pattern, find, input);
+		}
+
+		/**
+		 * Validates a constant argument against the pattern of this parameter while parsing.
+		 *
+		 * @param input The constant argument
+		 * @return An immutable match result, which can be passed to every call if the
+		 * parameter is a {@link MatchResult}, or {@code null} if the argument does not match
+		 * @throws IllegalStateException If the argument is not validated
+		 * @see Patterns#matchConstant(Pattern, boolean, CharSequence)
+		 */
+		@Contract(pure = true)
+		public @Nullable MatchResult matchConstant(@NotNull CharSequence input) {
+			Preconditions.checkState(pattern != null, "%s is not validated", name);
+			return Patterns.matchConstant(pattern, find, input);
+		}
+
+		/**
+		 * Checks whether the argument is validated using {@link Matcher#find()}
+		 * instead of {@link Matcher#matches()}.
+		 *
+		 * @return {@code true} if {@code find()} is used, {@code false} otherwise
+		 */
+		@Contract(pure = true)
+		public boolean isFind() { return find; }
+
+		/**
+		 * Checks whether the argument may be omitted.
+		 *
+		 * @return {@code true} if the parameter is optional, {@code false} otherwise
+		 */
+		@Contract(pure = true)
+		public boolean isOptional() { return optional; }
+
+		/**
+		 * Returns the value passed if the argument is omitted. The fallback is a constant
+		 * converted to the parameter type, which is folded into the call site while parsing.
+		 *
+		 * @return The fallback, or {@code null} if the parameter is not optional
+		 */
+		@Contract(pure = true)
+		public @Nullable Object getFallback() { return fallback; }
+
+		@Override
+		public String toString() {
+			return type.getSimpleName() + " " + name;
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.sniskus.helix.api.implementation;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The bindings of all methods declared by a {@link StaticMethods} or {@link InstanceMethods} class,
+ * generated at compile time by the Helix annotation processor.
+ * <p>
+ * To generate binding tables, add the processor to the module build:
+ * {@snippet lang="kotlin" :
+ * dependencies {
+ *     compileOnly("com.sniskus.helix:helix-api:<version>")
+ *     annotationProcessor("com.sniskus.helix:helix-api-processor:<version>")
+ * }
+ *}
+ * The table of a class is generated in the same package and named after the binary name of
+ * the class, keeping the {@code $} separators of nested classes, with the suffix {@value #SUFFIX}.
+ * Distinct classes therefore never share a table. The processor also registers every table
+ * as a {@link java.util.ServiceLoader service} of this interface, through which tables are found.
+ * When registering methods, {@link Namespace#methods(StaticMethods)} and {@link Type#methods(Class)}
+ * use the table if present and only fall back to reflection for classes compiled without the processor.
+ * </p>
+ *
+ * @see Binding
+ */
+public interface BindingTable {
+
+	/**
+	 * The suffix appended to the name of generated binding tables.
+	 */
+	String SUFFIX = "_HelixBindings";
+
+	/**
+	 * Returns the class declaring the bound methods.
+	 *
+	 * @return The class
+	 */
+	@Contract(pure = true)
+	@NotNull Class<?> getOwner();
+
+	/**
+	 * Returns the bindings of all methods declared by the owner.
+	 *
+	 * @return An immutable list of bindings
+	 */
+	@Contract(pure = true)
+	@NotNull List<Binding> getBindings();
+
+	/**
+	 * Returns the generated binding table of a class, registered as a service in the
+	 * class loader of the class. Tables are looked up once per class and cached.
+	 *
+	 * @param owner The class declaring the bound methods
+	 * @return The binding table, or {@code null} if the class was compiled without the processor
+	 * @throws IllegalStateException If the generated table cannot be instantiated
+	 */
+	static @Nullable BindingTable find(@NotNull Class<?> owner) {
+		return BindingTables.find(owner);
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.sniskus.helix.api.implementation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Looks up the generated {@link BindingTable binding tables} registered as services.
+ * <p>
+ * Tables are cached per owner in a {@link ClassValue}, so they are looked up once per class
+ * and released together with the class loader of the owner.
+ * </p>
+ *
+ * @see BindingTable#find(Class)
+ */
+final class BindingTables {
+	private static final Object NONE = new Object();
+	private static final ClassValue<Object> TABLES = new ClassValue<>() {
+
+		@Override
+		protected @NotNull Object computeValue(@NotNull Class<?> owner) {
+			BindingTable table = load(owner);
+			return table != null ? table : NONE;
+		}
+	};
+
+	private BindingTables() { }
+
+	static @Nullable BindingTable find(@NotNull Class<?> owner) {
+		Object table = TABLES.get(owner);
+		return table != NONE ? (BindingTable) table : null;
+	}
+
+	private static @Nullable BindingTable load(@NotNull Class<?> owner) {
+		ClassLoader loader = owner.getClassLoader();
+		if (loader == null) return null;
+		String name = owner.getName() + BindingTable.SUFFIX;
+		try {
+			for (ServiceLoader.Provider<BindingTable> provider : ServiceLoader.load(BindingTable.class, loader).stream().toList()) {
+				// Only the table named after the owner is instantiated
+				if (!provider.type().getName().equals(name)) continue;
+				BindingTable table = provider.get();
+				if (table.getOwner() == owner) return table;
+			}
+		} catch (ServiceConfigurationError e) {
+			throw new IllegalStateException("Cannot instantiate " + name, e);
+		}
+		return null;
+	}
+
+}
@@ -1,16 +1,43 @@
 package com.sniskus.helix.api.implementation;
 
+import com.sniskus.helix.api.script.DictionaryPool;
+import org.bukkit.event.EventPriority;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The internal trigger-to-listener event bus used for activating trigger blocks.
+ * <p>
+ * Dictionaries passed to listeners are leased from {@link DictionaryPool#shared()} and
+ * released once the script of the listener has finished. If the script is suspended by a
+ * {@link com.sniskus.helix.api.script.Budget.OverrunPolicy#DEFER DEFER} budget, its dictionary
+ * is owned by the suspended {@link com.sniskus.helix.api.script.Script.Execution Execution}
+ * until it finishes or is cancelled. No dictionary is leased for values which a trigger does
+ * not {@linkplain Trigger#accepts(Object) accept}.
+ * </p>
+ * <p>
+ * Listeners run in order of their {@link EventPriority}, with {@linkplain EventPriority#MONITOR
+ * monitor} listeners last. Once a listener cancels the value, as determined by
+ * {@link Trigger#isCancelled(Object)}, the remaining listeners which
+ * {@linkplain ListenerOptions#isIgnoreCancelled() ignore cancelled} values are skipped
+ * without leasing a dictionary. All other listeners, which is the default, still run.
+ * </p>
  */
 public interface EventBus {
 
 	/**
 	 * Posts an object to the event bus. All listeners with a type assignable
 	 * from the posted object are invoked.
+	 * <p>
+	 * Listeners are resolved through a {@link ListenerIndex}, so posting an object
+	 * costs a single lookup by its concrete class plus an iteration over the matching
+	 * listeners, regardless of how many trigger types exist. Posting never blocks,
+	 * even while listeners are registered or unregistered concurrently.
+	 * </p>
 	 *
 	 * @param object The object to post.
 	 */
@@ -18,6 +45,13 @@ public interface EventBus {
 
 	/**
 	 * Manually invokes the given trigger and executes all currently registered listeners.
+	 * <p>
+	 * Each distinct, {@linkplain TriggerInterner interned} trigger instance handles the value
+	 * once, and the resulting dictionary is shared among its listeners, each of which receives
+	 * a {@linkplain com.sniskus.helix.api.script.Dictionary#overlay copy-on-write overlay} of it.
+	 * Instances are looked up by the {@linkplain Trigger#routingKeyOf(Object) routing key} of
+	 * the value, so instances listening for other keys are skipped without being evaluated.
+	 * </p>
 	 *
 	 * @param trigger The trigger to activate.
 	 * @param with    The argument to pass to the trigger when executing.
@@ -26,4 +60,65 @@ public interface EventBus {
 	 */
 	<T> void post(@NotNull Trigger<? super T> trigger, @Nullable T with);
 
+	/**
+	 * Posts an object to the event bus asynchronously.
+	 * Behaves like {@link #post(Object)}, except that every listener is executed
+	 * according to the {@link ExecutionPolicy} of its trigger, including
+	 * {@linkplain ExecutionPolicy#SYNC synchronous} ones, which run on the calling thread.
+	 *
+	 * @param object The object to post.
+	 * @return A future completed once all listeners have finished, or completed
+	 * exceptionally if any listener failed
+	 */
+	@NotNull CompletableFuture<Void> postAsync(@NotNull Object object);
+
+	/**
+	 * Invokes the given trigger asynchronously.
+	 * Behaves like {@link #post(Trigger, Object)}, except that listeners are
+	 * executed according to the {@link ExecutionPolicy} of the trigger.
+	 *
+	 * @param trigger The trigger to activate.
+	 * @param with    The argument to pass to the trigger when executing.
+	 *                May be {@code null} only if the trigger implementation explicitly allows it.
+	 * @param <T>     The type of argument expected by the trigger.
+	 * @return A future completed once all listeners have finished, or completed
+	 * exceptionally if any listener failed
+	 */
+	<T> @NotNull CompletableFuture<Void> postAsync(@NotNull Trigger<? super T> trigger, @Nullable T with);
+
+	/**
+	 * Invokes the given trigger once for every value in a batch.
+	 * <p>
+	 * Listeners are resolved once for the whole batch. Each listener then processes all values
+	 * in order before the next listener runs, reusing a single dictionary which is cleared
+	 * between values. Since dictionaries are reused, listeners observe the same variables as
+	 * with individual posts, but the relative order of listeners and values differs.
+	 * </p>
+	 * <p>
+	 * The default implementation posts each value individually.
+	 * </p>
+	 *
+	 * @param trigger The trigger to activate.
+	 * @param values  The arguments to pass to the trigger, one per activation.
+	 * @param <T>     The type of argument expected by the trigger.
+	 * @see #post(Trigger, Object)
+	 */
+	default <T> void postAll(@NotNull Trigger<? super T> trigger, @NotNull List<? extends T> values) {
+		for (T value : values) {
+			post(trigger, value);
+		}
+	}
+
+	/**
+	 * Invokes the given trigger once for every value in a batch.
+	 * Delegates to {@link #postAll(Trigger, List)}.
+	 *
+	 * @param trigger The trigger to activate.
+	 * @param values  The arguments to pass to the trigger, one per activation.
+	 * @param <T>     The type of argument expected by the trigger.
+	 */
+	default <T> void postAll(@NotNull Trigger<? super T> trigger, T @NotNull [] values) {
+		postAll(trigger, Arrays.asList(values));
+	}
+
 }
\ No newline at end of file
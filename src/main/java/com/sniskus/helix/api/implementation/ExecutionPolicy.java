@@ -0,0 +1,35 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.annotate.methods.NotAsync;
+
+/**
+ * Determines on which thread the listeners of a trigger are executed.
+ * <p>
+ * Listeners of asynchronous triggers may still call {@link NotAsync} methods, in which case
+ * the call is executed on the server main thread while the script waits for its result.
+ * </p>
+ *
+ * @see Namespace#trigger(String, Class, ExecutionPolicy)
+ * @see EventBus#postAsync(Trigger, Object)
+ */
+public enum ExecutionPolicy {
+
+	/**
+	 * Listeners are executed on the thread which posted the trigger.
+	 * This is the default policy.
+	 */
+	SYNC,
+
+	/**
+	 * Each listener is executed on a new virtual thread.
+	 * Suited for listeners which mostly wait, for example on I/O or {@link NotAsync} methods.
+	 */
+	VIRTUAL_THREAD,
+
+	/**
+	 * Listeners are executed on a bounded pool of platform threads shared by all triggers.
+	 * Suited for computationally heavy listeners.
+	 */
+	BOUNDED_POOL
+
+}
@@ -1,13 +1,14 @@
 package com.sniskus.helix.api.implementation;
 
+import com.sniskus.helix.api.annotate.methods.Extension;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Provides a base class for instance methods that operate on a delegated object.
  * <p>
  * Subclasses of {@code InstanceMethods} define instance methods that interact with an underlying
- * delegate object of type {@code T}. Any implementing class must declare a single public constructor,
- * which only takes the delegate as an argument.
+ * delegate object of type {@code T}. Any implementing class with instance methods must declare a single
+ * public constructor, which only takes the delegate as an argument.
  * </p>
  * <p>
  * Example usage:
@@ -28,9 +29,30 @@ import org.jetbrains.annotations.NotNull;
  * }
  *}
  * </p>
+ * <p>
+ * Calling an instance method creates a wrapper around the delegate. For frequently called
+ * methods on hot types, such as {@code Player} or {@code ItemStack}, public static methods
+ * annotated with {@link Extension}, whose first parameter is the delegate, are registered as
+ * instance methods as well. They are invoked without creating a wrapper, so calling them
+ * allocates nothing. Other static methods are not registered:
+ * {@snippet :
+ *
+ * public class MyInstanceMethods extends InstanceMethods<Player> {
+ *
+ *   // ...
+ *
+ *   @Extension
+ *   public static boolean isOperator(Player self) {
+ *     return self.isOp();
+ *   }
+ * }
+ *}
+ * A class declaring only static methods does not need a constructor.
+ * </p>
  *
  * @param <T> The type of the delegate object
  * @see Type#methods(Class)
+ * @see MethodInvoker#of(Class, java.lang.reflect.Method)
  * @see com.sniskus.helix.api.annotate
  */
 public abstract class InstanceMethods<T> {
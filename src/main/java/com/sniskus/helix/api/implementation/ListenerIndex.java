@@ -0,0 +1,231 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A type-indexed registry of listeners, used for dispatching posted objects.
+ * <p>
+ * Each listener is registered for a type and receives every posted object which is an
+ * instance of that type. The listeners matching a concrete class are resolved once and
+ * cached in a {@link ClassValue}, so dispatching an object costs a single lookup regardless
+ * of how many types are registered. The cache is invalidated whenever a listener is
+ * registered or unregistered.
+ * </p>
+ * <p>
+ * Listeners are ordered by their {@link EventPriority}, and then by registration order.
+ * {@linkplain EventPriority#MONITOR Monitor} listeners are resolved separately, and each
+ * listener carries its {@link ListenerOptions}, so that dispatch can skip listeners which
+ * ignore cancelled objects once an object is cancelled.
+ * </p>
+ * <p>
+ * The index is lock-free. Its state is an immutable snapshot which is copied and swapped
+ * atomically on every change, so resolving listeners never blocks or allocates, and
+ * registrations during a reload never stall concurrent dispatch. Multiple changes, such as
+ * the listeners of a reloaded script, should be applied together through
+ * {@link #update(Consumer)}, which copies the snapshot once. Resolved arrays preserve
+ * priority order and are shared between callers, so they must not be modified.
+ * </p>
+ *
+ * @param <L> The type of the listeners
+ * @see EventBus#post(Object)
+ */
+public final class ListenerIndex<L> {
+	private final Registry<ClassValue<Resolved<L>>> registry;
+
+	/**
+	 * Constructs an empty listener index.
+	 *
+	 * @param generator The function used to create listener arrays, typically {@code Listener[]::new}
+	 */
+	public ListenerIndex(@NotNull IntFunction<L[]> generator) {
+		Preconditions.checkNotNull(generator);
+		this.registry = new Registry<>(entries -> resolver(entries, generator));
+	}
+
+	/**
+	 * Registers a listener for the given type with {@link EventPriority#NORMAL} priority.
+	 *
+	 * @param type     The type of objects to receive
+	 * @param listener The listener
+	 */
+	public void register(@NotNull Class<?> type, @NotNull L listener) {
+		register(type, listener, EventPriority.NORMAL);
+	}
+
+	/**
+	 * Registers a listener for the given type.
+	 *
+	 * @param type     The type of objects to receive
+	 * @param listener The listener
+	 * @param priority The priority of the listener
+	 */
+	public void register(@NotNull Class<?> type, @NotNull L listener, @NotNull EventPriority priority) {
+		register(type, listener, ListenerOptions.of(priority));
+	}
+
+	/**
+	 * Registers a listener for the given type.
+	 *
+	 * @param type     The type of objects to receive
+	 * @param listener The listener
+	 * @param options  The priority and cancellation handling of the listener
+	 */
+	public void register(@NotNull Class<?> type, @NotNull L listener, @NotNull ListenerOptions options) {
+		update(batch -> batch.register(type, listener, options));
+	}
+
+	/**
+	 * Unregisters a listener previously registered for the given type.
+	 *
+	 * @param type     The type the listener was registered for
+	 * @param listener The listener
+	 * @return {@code true} if the listener was registered, {@code false} otherwise
+	 */
+	public boolean unregister(@NotNull Class<?> type, @NotNull L listener) {
+		return update(batch -> batch.unregister(type, listener)) > 0;
+	}
+
+	/**
+	 * Applies multiple changes at once. The changes are collected first and then become
+	 * visible to dispatch together, in a single atomic swap, so registering or unregistering
+	 * {@code n} listeners copies the registrations once instead of {@code n} times.
+	 * Unregistrations are applied before registrations.
+	 *
+	 * @param changes The function collecting the changes, which is called once
+	 * @return The number of listeners which were unregistered
+	 */
+	public int update(@NotNull Consumer<? super Batch<L>> changes) {
+		Batch<L> batch = new Batch<>();
+		changes.accept(batch);
+		return registry.apply(batch.changes);
+	}
+
+	/**
+	 * Returns all non-{@linkplain EventPriority#MONITOR monitor} listeners registered
+	 * for the given class or any of its supertypes, ordered by priority.
+	 *
+	 * @param type The concrete class of the posted object
+	 * @return The shared array of matching listeners, which must not be modified
+	 * @see #resolveMonitors(Class)
+	 */
+	@Contract(pure = true)
+	public @NotNull L @NotNull [] resolve(@NotNull Class<?> type) {
+		return registry.snapshot().get(type).listeners();
+	}
+
+	/**
+	 * Returns all {@linkplain EventPriority#MONITOR monitor} listeners registered
+	 * for the given class or any of its supertypes. Monitor listeners run after
+	 * all other listeners.
+	 *
+	 * @param type The concrete class of the posted object
+	 * @return The shared array of matching listeners, which must not be modified
+	 */
+	@Contract(pure = true)
+	public @NotNull L @NotNull [] resolveMonitors(@NotNull Class<?> type) {
+		return registry.snapshot().get(type).monitors();
+	}
+
+	/**
+	 * Returns all listeners registered for the given class or any of its supertypes,
+	 * together with whether each of them ignores cancelled objects.
+	 *
+	 * @param type The concrete class of the posted object
+	 * @return The shared resolved listeners, whose arrays must not be modified
+	 */
+	@Contract(pure = true)
+	public @NotNull Resolved<L> resolveAll(@NotNull Class<?> type) {
+		return registry.snapshot().get(type);
+	}
+
+	/**
+	 * Checks whether no listeners are registered.
+	 *
+	 * @return {@code true} if this index is empty, {@code false} otherwise
+	 */
+	@Contract(pure = true)
+	public boolean isEmpty() {
+		return registry.isEmpty();
+	}
+
+	/**
+	 * Creates the lazy resolver of a snapshot. Replacing the snapshot also
+	 * replaces its {@link ClassValue}, which invalidates all resolved arrays.
+	 */
+	private static <L> @NotNull ClassValue<Resolved<L>> resolver(
+			@NotNull Registry.Entry[] entries,
+			@NotNull IntFunction<L[]> generator) {
+		return new ClassValue<>() {
+
+			@Override
+			protected Resolved<L> computeValue(@NotNull Class<?> type) {
+				Registry.Entry[] matching = Arrays.stream(entries)
+						.filter(entry -> ((Class<?>) entry.key()).isAssignableFrom(type))
+						.toArray(Registry.Entry[]::new);
+				return Resolved.split(matching, generator);
+			}
+		};
+	}
+
+	/**
+	 * A batch of changes to a {@link ListenerIndex}.
+	 *
+	 * @param <L> The type of the listeners
+	 * @see #update(Consumer)
+	 */
+	public static final class Batch<L> {
+		private final Registry.Batch changes = new Registry.Batch();
+
+		private Batch() { }
+
+		/**
+		 * Registers a listener for the given type with {@link EventPriority#NORMAL} priority.
+		 *
+		 * @param type     The type of objects to receive
+		 * @param listener The listener
+		 */
+		public void register(@NotNull Class<?> type, @NotNull L listener) {
+			register(type, listener, EventPriority.NORMAL);
+		}
+
+		/**
+		 * Registers a listener for the given type.
+		 *
+		 * @param type     The type of objects to receive
+		 * @param listener The listener
+		 * @param priority The priority of the listener
+		 */
+		public void register(@NotNull Class<?> type, @NotNull L listener, @NotNull EventPriority priority) {
+			register(type, listener, ListenerOptions.of(priority));
+		}
+
+		/**
+		 * Registers a listener for the given type.
+		 *
+		 * @param type     The type of objects to receive
+		 * @param listener The listener
+		 * @param options  The priority and cancellation handling of the listener
+		 */
+		public void register(@NotNull Class<?> type, @NotNull L listener, @NotNull ListenerOptions options) {
+			changes.add(Preconditions.checkNotNull(type), Preconditions.checkNotNull(listener), Preconditions.checkNotNull(options));
+		}
+
+		/**
+		 * Unregisters a listener previously registered for the given type.
+		 *
+		 * @param type     The type the listener was registered for
+		 * @param listener The listener
+		 */
+		public void unregister(@NotNull Class<?> type, @NotNull L listener) {
+			changes.remove(Preconditions.checkNotNull(type), Preconditions.checkNotNull(listener));
+		}
+	}
+
+}
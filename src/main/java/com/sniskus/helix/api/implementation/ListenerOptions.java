@@ -0,0 +1,105 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Determines when a listener runs relative to the other listeners of a value.
+ * <p>
+ * Like Bukkit event handlers, listeners run in order of their {@link EventPriority}, and by
+ * default they also receive values which a previous listener has
+ * {@linkplain Trigger#isCancelled(Object) cancelled}. Listeners which
+ * {@linkplain #isIgnoreCancelled() ignore cancelled} values are skipped once a value is
+ * cancelled, without leasing a dictionary.
+ * </p>
+ * <p>
+ * Options are declared as defaults when a trigger is registered, see
+ * {@link Namespace#trigger(String, Class, ExecutionPolicy, ListenerOptions)}, and may be
+ * overridden by scripts for individual listeners.
+ * </p>
+ *
+ * @see ListenerIndex
+ * @see RoutingIndex
+ */
+public final class ListenerOptions {
+
+	/**
+	 * The default options: {@link EventPriority#NORMAL} priority, receiving cancelled values.
+	 */
+	public static final ListenerOptions DEFAULT = new ListenerOptions(EventPriority.NORMAL, false);
+
+	private final EventPriority priority;
+	private final boolean ignoreCancelled;
+
+	private ListenerOptions(@NotNull EventPriority priority, boolean ignoreCancelled) {
+		this.priority = Preconditions.checkNotNull(priority);
+		this.ignoreCancelled = ignoreCancelled;
+	}
+
+	/**
+	 * Creates options with the given priority, receiving cancelled values.
+	 *
+	 * @param priority The priority
+	 * @return The options
+	 */
+	@Contract(pure = true)
+	public static @NotNull ListenerOptions of(@NotNull EventPriority priority) {
+		return priority == EventPriority.NORMAL ? DEFAULT : new ListenerOptions(priority, false);
+	}
+
+	/**
+	 * Returns a copy of these options with the given priority.
+	 *
+	 * @param priority The priority
+	 * @return New options
+	 */
+	@Contract(value = "_ -> new", pure = true)
+	public @NotNull ListenerOptions withPriority(@NotNull EventPriority priority) {
+		return new ListenerOptions(priority, ignoreCancelled);
+	}
+
+	/**
+	 * Returns a copy of these options which ignores cancelled values or not.
+	 *
+	 * @param ignoreCancelled Whether the listener is skipped once a value is cancelled
+	 * @return New options
+	 */
+	@Contract(value = "_ -> new", pure = true)
+	public @NotNull ListenerOptions withIgnoreCancelled(boolean ignoreCancelled) {
+		return new ListenerOptions(priority, ignoreCancelled);
+	}
+
+	/**
+	 * Returns the priority of the listener.
+	 *
+	 * @return The priority
+	 */
+	@Contract(pure = true)
+	public @NotNull EventPriority getPriority() { return priority; }
+
+	/**
+	 * Checks whether the listener is skipped once a value has been cancelled.
+	 *
+	 * @return {@code true} if cancelled values are ignored, {@code false} if they are received
+	 */
+	@Contract(pure = true)
+	public boolean isIgnoreCancelled() { return ignoreCancelled; }
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof ListenerOptions options && priority == options.priority && ignoreCancelled == options.ignoreCancelled;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * priority.hashCode() + Boolean.hashCode(ignoreCancelled);
+	}
+
+	@Override
+	public String toString() {
+		return "ListenerOptions[priority=" + priority + ", ignoreCancelled=" + ignoreCancelled + "]";
+	}
+
+}
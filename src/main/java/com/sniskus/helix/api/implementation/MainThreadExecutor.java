@@ -0,0 +1,143 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import com.sniskus.helix.api.annotate.methods.NotAsync;
+import com.sniskus.helix.api.script.ScriptException;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hands off calls from asynchronous scripts to the server main thread in per-tick batches.
+ * <p>
+ * When an asynchronous script calls a {@link NotAsync} method, the call is queued and the
+ * script waits for its result. Scripts run on virtual threads, so waiting releases the carrier
+ * thread instead of blocking it. Once per tick, the main thread executes all queued calls in a
+ * single {@link #drain()}, which avoids scheduling a separate task for every call.
+ * </p>
+ *
+ * @see com.sniskus.helix.api.HelixApi#getMainThreadExecutor()
+ */
+public final class MainThreadExecutor implements Executor {
+	private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final BooleanSupplier isMainThread;
+	private volatile boolean shutdown;
+
+	/**
+	 * Constructs a new executor for the Bukkit primary thread.
+	 */
+	public MainThreadExecutor() {
+		this(Bukkit::isPrimaryThread);
+	}
+
+	/**
+	 * Constructs a new executor.
+	 *
+	 * @param isMainThread The check whether the calling thread is the main thread
+	 */
+	public MainThreadExecutor(@NotNull BooleanSupplier isMainThread) {
+		this.isMainThread = Preconditions.checkNotNull(isMainThread);
+	}
+
+	/**
+	 * Queues a task for the next batch executed on the main thread.
+	 *
+	 * @param task The task to execute
+	 * @throws RejectedExecutionException If this executor has been shut down
+	 */
+	@Override
+	public void execute(@NotNull Runnable task) {
+		Preconditions.checkNotNull(task);
+		if (shutdown) throw new RejectedExecutionException("Main thread executor has been shut down");
+		queue.add(task);
+		queued.incrementAndGet();
+		if (shutdown && queue.remove(task)) {
+			// Raced with shutdown, which may have already cleared the queue
+			queued.decrementAndGet();
+			throw new RejectedExecutionException("Main thread executor has been shut down");
+		}
+	}
+
+	/**
+	 * Executes a call on the main thread and waits for its result. If the calling thread
+	 * is the main thread, the call is executed immediately.
+	 *
+	 * @param call The call to execute
+	 * @param <V>  The type of the result
+	 * @return The result of the call
+	 * @throws ScriptException If the call failed, or if the main thread cannot be reached
+	 *                         because this executor has been shut down
+	 */
+	public <V> V call(@NotNull Callable<V> call) {
+		try {
+			if (isMainThread.getAsBoolean()) return call.call();
+			FutureTask<V> task = new FutureTask<>(call);
+			execute(task);
+			return task.get();
+		} catch (RejectedExecutionException e) {
+			throw new ScriptException("Server main thread is unavailable", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ScriptException("Interrupted while waiting for the server main thread", e);
+		} catch (ExecutionException e) {
+			throw rethrow(e.getCause());
+		} catch (Exception e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Executes all tasks queued before this call. Tasks queued while draining are
+	 * deferred to the next drain. Must be called on the main thread once per tick.
+	 *
+	 * @return The number of tasks executed
+	 * @throws IllegalStateException If not called on the main thread
+	 */
+	public int drain() {
+		Preconditions.checkState(isMainThread.getAsBoolean(), "Must be called on the main thread");
+		int count = queued.get();
+		for (int i = 0; i < count; i++) {
+			Runnable task = queue.poll();
+			if (task == null) return i;
+			queued.decrementAndGet();
+			task.run();
+		}
+		return count;
+	}
+
+	/**
+	 * Rejects all further calls and cancels queued tasks, waking up any waiting scripts.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		Runnable task;
+		while ((task = queue.poll()) != null) {
+			queued.decrementAndGet();
+			if (task instanceof Future<?> future) future.cancel(false);
+		}
+	}
+
+	/**
+	 * Checks whether this executor has been shut down.
+	 *
+	 * @return {@code true} if this executor has been shut down, {@code false} otherwise
+	 */
+	@Contract(pure = true)
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	private static @NotNull RuntimeException rethrow(@NotNull Throwable cause) {
+		if (cause instanceof CancellationException e) return new ScriptException("Server main thread is unavailable", e);
+		if (cause instanceof RuntimeException e) return e;
+		if (cause instanceof Error e) throw e;
+		return new ScriptException(cause);
+	}
+
+}
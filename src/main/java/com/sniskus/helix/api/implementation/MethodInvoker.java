@@ -0,0 +1,503 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import com.google.common.reflect.TypeToken;
+import com.sniskus.helix.api.annotate.methods.Extension;
+import com.sniskus.helix.api.script.ScriptException;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * A direct invoker for a method bound from {@link StaticMethods} or {@link InstanceMethods}.
+ * <p>
+ * Invokers are generated once when the methods are registered. Methods with up to
+ * {@value #MAX_DIRECT_ARITY} parameters are bound through {@link LambdaMetafactory}, which
+ * spins a hidden class calling the method directly, so invoking them requires neither
+ * {@link Method#invoke(Object, Object...)} nor packing the arguments into an array.
+ * Primitive parameters and return values are unboxed and boxed by the generated class.
+ * Methods with more parameters fall back to a spreading {@link MethodHandle}.
+ * </p>
+ * <p>
+ * Spinning a class requires a lookup with
+ * {@linkplain MethodHandles.Lookup#hasFullPrivilegeAccess() full privilege access} to the
+ * declaring class, which cannot be obtained for classes of other class loaders or modules,
+ * such as those of other plugins. Their owners may pass their own
+ * {@link MethodHandles#lookup()} when registering the methods. Without it, such methods
+ * are invoked through a {@link MethodHandle} instead, which still avoids reflection and
+ * packing arguments.
+ * </p>
+ * <p>
+ * Classes compiled with the Helix annotation processor ship a generated {@link BindingTable},
+ * whose bindings call each method through a plain lambda. Invokers created from a
+ * {@link Binding} require no reflection or class spinning at all.
+ * </p>
+ * <p>
+ * Static methods of {@code InstanceMethods} classes annotated with {@link Extension} take
+ * the delegate as their first parameter and are invoked without creating a wrapper,
+ * see {@link InstanceMethods}.
+ * </p>
+ * <p>
+ * Checked exceptions thrown by the method are wrapped in a {@link ScriptException},
+ * unchecked exceptions are propagated unchanged.
+ * </p>
+ *
+ * @see Namespace#methods(StaticMethods)
+ * @see Type#methods(Class)
+ */
+public final class MethodInvoker {
+
+	/**
+	 * The maximum number of parameters of methods which are invoked without packing arguments.
+	 */
+	public static final int MAX_DIRECT_ARITY = 3;
+
+	private static final Class<?>[] CALLS = { Call0.class, Call1.class, Call2.class, Call3.class };
+	private static final Class<?>[] RUNS = { Run0.class, Run1.class, Run2.class, Run3.class };
+
+	private final @Nullable Method method;
+	private final int arity;
+	private final @Nullable Object receiver;
+	private final @Nullable Function<Object, Object> wrapper;
+	private final @NotNull Object function;
+
+	private MethodInvoker(
+			@Nullable Method method,
+			int arity,
+			@Nullable Object receiver,
+			@Nullable Function<Object, Object> wrapper,
+			@NotNull Object function) {
+		this.method = method;
+		this.arity = arity;
+		this.receiver = receiver;
+		this.wrapper = wrapper;
+		this.function = function;
+	}
+
+	private MethodInvoker(
+			@NotNull Method method,
+			@Nullable Object receiver,
+			@Nullable Function<Object, Object> wrapper,
+			@NotNull MethodHandles.Lookup lookup) {
+		this(method, method.getParameterCount() - (Modifier.isStatic(method.getModifiers()) ? 1 : 0),
+				receiver, wrapper, bind(method, lookup));
+	}
+
+	/**
+	 * Creates an invoker for a method of a registered {@link StaticMethods} instance.
+	 * The target passed when invoking is ignored.
+	 *
+	 * @param methods The instance declaring the method
+	 * @param method  The method
+	 * @return The invoker
+	 * @throws IllegalArgumentException If the method cannot be bound
+	 */
+	@Contract(value = "_, _ -> new", pure = true)
+	public static @NotNull MethodInvoker of(@NotNull StaticMethods methods, @NotNull Method method) {
+		return of(methods, method, MethodHandles.lookup());
+	}
+
+	/**
+	 * Creates an invoker for a method of a registered {@link StaticMethods} instance,
+	 * binding it through the given lookup. The target passed when invoking is ignored.
+	 *
+	 * @param methods The instance declaring the method
+	 * @param method  The method
+	 * @param lookup  A lookup with full privilege access, usually {@link MethodHandles#lookup()}
+	 *                of the owner of the methods
+	 * @return The invoker
+	 * @throws IllegalArgumentException If the method cannot be bound
+	 */
+	@Contract(value = "_, _, _ -> new", pure = true)
+	public static @NotNull MethodInvoker of(
+			@NotNull StaticMethods methods,
+			@NotNull Method method,
+			@NotNull MethodHandles.Lookup lookup) {
+		Preconditions.checkArgument(!Modifier.isStatic(method.getModifiers()), "%s must not be static", method);
+		Preconditions.checkArgument(method.getDeclaringClass().isInstance(methods), "%s is not declared by %s", method, methods);
+		return new MethodInvoker(method, methods, null, lookup);
+	}
+
+	/**
+	 * Creates an invoker for a method of an {@link InstanceMethods} class.
+	 * The target passed when invoking is the delegate.
+	 * <p>
+	 * Static methods annotated with {@link Extension}, whose first parameter is the delegate,
+	 * receive it directly and invoking them allocates nothing. Instance methods require the
+	 * delegate to be wrapped through a generated reference to the single public constructor
+	 * of the class.
+	 * </p>
+	 *
+	 * @param type   The class declaring the method
+	 * @param method The method
+	 * @return The invoker
+	 * @throws IllegalArgumentException If the method or the constructor cannot be bound, or a static
+	 *                                  method is not an {@link Extension} accepting the delegate
+	 */
+	@Contract(value = "_, _ -> new", pure = true)
+	public static @NotNull MethodInvoker of(
+			@NotNull Class<? extends InstanceMethods<?>> type,
+			@NotNull Method method) {
+		return of(type, method, MethodHandles.lookup());
+	}
+
+	/**
+	 * Creates an invoker for a method of an {@link InstanceMethods} class, binding it
+	 * through the given lookup. The target passed when invoking is the delegate.
+	 *
+	 * @param type   The class declaring the method
+	 * @param method The method
+	 * @param lookup A lookup with full privilege access, usually {@link MethodHandles#lookup()}
+	 *               of the owner of the class
+	 * @return The invoker
+	 * @throws IllegalArgumentException If the method or the constructor cannot be bound, or a static
+	 *                                  method is not an {@link Extension} accepting the delegate
+	 * @see #of(Class, Method)
+	 */
+	@Contract(value = "_, _, _ -> new", pure = true)
+	public static @NotNull MethodInvoker of(
+			@NotNull Class<? extends InstanceMethods<?>> type,
+			@NotNull Method method,
+			@NotNull MethodHandles.Lookup lookup) {
+		Preconditions.checkArgument(method.getDeclaringClass().isAssignableFrom(type), "%s is not declared by %s", method, type.getName());
+		if (!Modifier.isStatic(method.getModifiers())) return new MethodInvoker(method, null, constructor(type, lookup), lookup);
+		Preconditions.checkArgument(method.isAnnotationPresent(Extension.class), "%s must be annotated with @Extension", method);
+		Class<?> delegate = TypeToken.of(type).resolveType(InstanceMethods.class.getTypeParameters()[0]).getRawType();
+		Preconditions.checkArgument(
+				method.getParameterCount() > 0 && method.getParameterTypes()[0].isAssignableFrom(delegate),
+				"%s must take the delegate (%s) as its first parameter", method, delegate.getName());
+		return new MethodInvoker(method, null, null, lookup);
+	}
+
+	/**
+	 * Creates an invoker for a method of a {@link StaticMethods} instance from its
+	 * generated binding, without any reflection.
+	 *
+	 * @param methods The instance declaring the method
+	 * @param binding The binding of the method
+	 * @return The invoker
+	 * @see BindingTable
+	 */
+	@Contract(value = "_, _ -> new", pure = true)
+	public static @NotNull MethodInvoker of(@NotNull StaticMethods methods, @NotNull Binding binding) {
+		Preconditions.checkNotNull(methods);
+		return new MethodInvoker(null, binding.getArity(), methods, null, binding.function());
+	}
+
+	/**
+	 * Creates an invoker for a method of an {@link InstanceMethods} class from its
+	 * generated binding, without any reflection. The target passed when invoking is the delegate.
+	 *
+	 * @param binding The binding of the method
+	 * @return The invoker
+	 * @see BindingTable
+	 */
+	@Contract(value = "_ -> new", pure = true)
+	public static @NotNull MethodInvoker of(@NotNull Binding binding) {
+		return new MethodInvoker(null, binding.getArity(), null, binding.wrapper(), binding.function());
+	}
+
+	/**
+	 * Returns the bound method.
+	 *
+	 * @return The method, or {@code null} if the invoker was created from a generated {@link Binding}
+	 */
+	@Contract(pure = true)
+	public @Nullable Method getMethod() { return method; }
+
+	/**
+	 * Returns the number of arguments of the bound method, excluding the delegate.
+	 *
+	 * @return The number of arguments
+	 */
+	@Contract(pure = true)
+	public int getArity() { return arity; }
+
+	/**
+	 * Invokes a method without parameters.
+	 *
+	 * @param target The delegate for {@link InstanceMethods}, ignored for {@link StaticMethods}
+	 * @return The result, or {@code null} for void methods
+	 * @throws IllegalArgumentException If the method does not take 0 arguments
+	 */
+	public @Nullable Object invoke(@Nullable Object target) {
+		Preconditions.checkArgument(arity == 0, "Expected 0 arguments");
+		try {
+			Object self = self(target);
+			if (function instanceof Call0 call) return call.call(self);
+			((Run0) function).run(self);
+			return null;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ScriptException(e);
+		}
+	}
+
+	/**
+	 * Invokes a method with a single parameter.
+	 *
+	 * @param target The delegate for {@link InstanceMethods}, ignored for {@link StaticMethods}
+	 * @param a      The first argument
+	 * @return The result, or {@code null} for void methods
+	 * @throws IllegalArgumentException If the method does not take 1 argument
+	 */
+	public @Nullable Object invoke(@Nullable Object target, @Nullable Object a) {
+		Preconditions.checkArgument(arity == 1, "Expected 1 argument");
+		try {
+			Object self = self(target);
+			if (function instanceof Call1 call) return call.call(self, a);
+			((Run1) function).run(self, a);
+			return null;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ScriptException(e);
+		}
+	}
+
+	/**
+	 * Invokes a method with two parameters.
+	 *
+	 * @param target The delegate for {@link InstanceMethods}, ignored for {@link StaticMethods}
+	 * @param a      The first argument
+	 * @param b      The second argument
+	 * @return The result, or {@code null} for void methods
+	 * @throws IllegalArgumentException If the method does not take 2 arguments
+	 */
+	public @Nullable Object invoke(@Nullable Object target, @Nullable Object a, @Nullable Object b) {
+		Preconditions.checkArgument(arity == 2, "Expected 2 arguments");
+		try {
+			Object self = self(target);
+			if (function instanceof Call2 call) return call.call(self, a, b);
+			((Run2) function).run(self, a, b);
+			return null;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ScriptException(e);
+		}
+	}
+
+	/**
+	 * Invokes a method with three parameters.
+	 *
+	 * @param target The delegate for {@link InstanceMethods}, ignored for {@link StaticMethods}
+	 * @param a      The first argument
+	 * @param b      The second argument
+	 * @param c      The third argument
+	 * @return The result, or {@code null} for void methods
+	 * @throws IllegalArgumentException If the method does not take 3 arguments
+	 */
+	public @Nullable Object invoke(@Nullable Object target, @Nullable Object a, @Nullable Object b, @Nullable Object c) {
+		Preconditions.checkArgument(arity == 3, "Expected 3 arguments");
+		try {
+			Object self = self(target);
+			if (function instanceof Call3 call) return call.call(self, a, b, c);
+			((Run3) function).run(self, a, b, c);
+			return null;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ScriptException(e);
+		}
+	}
+
+	/**
+	 * Invokes a method with any number of parameters. Methods with up to
+	 * {@value #MAX_DIRECT_ARITY} parameters are still invoked directly.
+	 *
+	 * @param target    The delegate for {@link InstanceMethods}, ignored for {@link StaticMethods}
+	 * @param arguments The arguments
+	 * @return The result, or {@code null} for void methods
+	 * @throws IllegalArgumentException If the number of arguments does not match
+	 */
+	public @Nullable Object invokeWithArguments(@Nullable Object target, @Nullable Object @NotNull ... arguments) {
+		Preconditions.checkArgument(arguments.length == arity, "Expected %s arguments", arity);
+		switch (arity) {
+			case 0: return invoke(target);
+			case 1: return invoke(target, arguments[0]);
+			case 2: return invoke(target, arguments[0], arguments[1]);
+			case 3: return invoke(target, arguments[0], arguments[1], arguments[2]);
+		}
+		try {
+			return ((Spread) function).call(self(target), arguments);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new ScriptException(e);
+		}
+	}
+
+	private @NotNull Object self(@Nullable Object target) {
+		if (receiver != null) return receiver;
+		Preconditions.checkNotNull(target, "Target must not be null");
+		return wrapper != null ? wrapper.apply(target) : target;
+	}
+
+	private static @NotNull Object bind(@NotNull Method method, @NotNull MethodHandles.Lookup owner) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), owner);
+			MethodHandle handle = lookup.unreflect(method);
+			int arity = handle.type().parameterCount() - 1;
+			if (arity > MAX_DIRECT_ARITY) {
+				MethodHandle spreader = handle.asSpreader(Object[].class, arity)
+						.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+				return (Spread) (self, arguments) -> (Object) spreader.invokeExact(self, arguments);
+			}
+			if (!lookup.hasFullPrivilegeAccess()) return invoker(handle.asType(MethodType.genericMethodType(arity + 1)));
+			boolean isVoid = method.getReturnType() == void.class;
+			MethodType erased = MethodType.genericMethodType(arity + 1);
+			MethodType instantiated = handle.type().wrap();
+			if (isVoid) {
+				erased = erased.changeReturnType(void.class);
+				instantiated = instantiated.changeReturnType(void.class);
+			}
+			Class<?> sam = isVoid ? RUNS[arity] : CALLS[arity];
+			return LambdaMetafactory.metafactory(lookup, isVoid ? "run" : "call", MethodType.methodType(sam), erased, handle, instantiated)
+					.getTarget()
+					.invoke();
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("Cannot bind " + method, e);
+		}
+	}
+
+	/**
+	 * Creates an invoker calling a generic handle, used when no class can be spun for the method.
+	 * Void methods return {@code null} through the generic handle.
+	 */
+	private static @NotNull Object invoker(@NotNull MethodHandle generic) {
+		return switch (generic.type().parameterCount() - 1) {
+			case 0 -> (Call0) self -> (Object) generic.invokeExact(self);
+			case 1 -> (Call1) (self, a) -> (Object) generic.invokeExact(self, a);
+			case 2 -> (Call2) (self, a, b) -> (Object) generic.invokeExact(self, a, b);
+			default -> (Call3) (self, a, b, c) -> (Object) generic.invokeExact(self, a, b, c);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static @NotNull Function<Object, Object> constructor(@NotNull Class<?> type, @NotNull MethodHandles.Lookup owner) {
+		Constructor<?>[] constructors = type.getConstructors();
+		Preconditions.checkArgument(
+				constructors.length == 1 && constructors[0].getParameterCount() == 1,
+				"%s must declare a single public constructor taking the delegate", type.getName());
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, owner);
+			MethodHandle handle = lookup.unreflectConstructor(constructors[0]);
+			if (!lookup.hasFullPrivilegeAccess()) {
+				MethodHandle generic = handle.asType(MethodType.genericMethodType(1));
+				return delegate -> {
+					try {
+						return (Object) generic.invokeExact(delegate);
+					} catch (RuntimeException | Error e) {
+						throw e;
+					} catch (Throwable e) {
+						throw new ScriptException(e);
+					}
+				};
+			}
+			return (Function<Object, Object>) LambdaMetafactory.metafactory(
+							lookup,
+							"apply",
+							MethodType.methodType(Function.class),
+							MethodType.genericMethodType(1),
+							handle,
+							handle.type().wrap())
+					.getTarget()
+					.invoke();
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("Cannot bind the constructor of " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * A generated invoker for a non-void method without parameters.
+	 * The receiver of instance methods and the delegate of static methods is passed as {@code self}.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Call0 {
+		@Nullable Object call(@NotNull Object self) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a non-void method with one parameter.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Call1 {
+		@Nullable Object call(@NotNull Object self, @Nullable Object a) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a non-void method with two parameters.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Call2 {
+		@Nullable Object call(@NotNull Object self, @Nullable Object a, @Nullable Object b) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a non-void method with three parameters.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Call3 {
+		@Nullable Object call(@NotNull Object self, @Nullable Object a, @Nullable Object b, @Nullable Object c) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a void method without parameters.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Run0 {
+		void run(@NotNull Object self) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a void method with one parameter.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Run1 {
+		void run(@NotNull Object self, @Nullable Object a) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a void method with two parameters.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Run2 {
+		void run(@NotNull Object self, @Nullable Object a, @Nullable Object b) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a void method with three parameters.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Run3 {
+		void run(@NotNull Object self, @Nullable Object a, @Nullable Object b, @Nullable Object c) throws Throwable;
+	}
+
+	/**
+	 * A generated invoker for a method with more than {@value #MAX_DIRECT_ARITY} parameters.
+	 * Returns {@code null} for void methods.
+	 */
+	@ApiStatus.Internal
+	@FunctionalInterface
+	public interface Spread {
+		@Nullable Object call(@NotNull Object self, @Nullable Object @NotNull [] arguments) throws Throwable;
+	}
+
+}
@@ -6,8 +6,11 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -49,7 +52,8 @@ public interface Namespace {
 	<T> @NotNull Type<T> type(@NotNull Class<T> type);
 
 	/**
-	 * Registers a new trigger with a custom handler.
+	 * Registers a new trigger with a custom handler, whose
+	 * listeners are executed {@linkplain ExecutionPolicy#SYNC synchronously}.
 	 *
 	 * @param key     The identifier for the trigger
 	 * @param type    The type class
@@ -59,13 +63,134 @@ public interface Namespace {
 	 * @see Trigger
 	 */
 	@Contract(value = "_, _, _ -> this")
+	default <T> @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<T> type,
+			@NotNull BiPredicate<@NotNull T, @NotNull Dictionary> handler) {
+		return trigger(key, type, handler, ExecutionPolicy.SYNC);
+	}
+
+	/**
+	 * Registers a new trigger with a custom handler and execution policy.
+	 *
+	 * @param key     The identifier for the trigger
+	 * @param type    The type class
+	 * @param handler The predicate used to determine whether to invoke the trigger
+	 * @param policy  The policy determining where listeners are executed
+	 * @param <T>     The type of the passed object
+	 * @return This namespace
+	 * @see Trigger
+	 * @see ExecutionPolicy
+	 */
+	@Contract(value = "_, _, _, _ -> this")
+	default <T> @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<T> type,
+			@NotNull BiPredicate<@NotNull T, @NotNull Dictionary> handler,
+			@NotNull ExecutionPolicy policy) {
+		return trigger(key, type, handler, policy, ListenerOptions.DEFAULT);
+	}
+
+	/**
+	 * Registers a new trigger with a custom handler, execution policy and listener options.
+	 *
+	 * @param key     The identifier for the trigger
+	 * @param type    The type class
+	 * @param handler The predicate used to determine whether to invoke the trigger
+	 * @param policy  The policy determining where listeners are executed
+	 * @param options The default priority and cancellation handling of listeners,
+	 *                which scripts may override for individual listeners
+	 * @param <T>     The type of the passed object
+	 * @return This namespace
+	 * @see Trigger
+	 * @see ListenerOptions
+	 */
+	@Contract(value = "_, _, _, _, _ -> this")
 	<T> @NotNull Namespace trigger(
 			@NotNull @Identifier String key,
 			@NotNull Class<T> type,
-			@NotNull BiPredicate<@NotNull T, @NotNull Dictionary> handler);
+			@NotNull BiPredicate<@NotNull T, @NotNull Dictionary> handler,
+			@NotNull ExecutionPolicy policy,
+			@NotNull ListenerOptions options);
+
+	/**
+	 * Registers a new trigger with separate filter and population phases, whose
+	 * listeners are executed {@linkplain ExecutionPolicy#SYNC synchronously}.
+	 *
+	 * @param key       The identifier for the trigger
+	 * @param type      The type class
+	 * @param filter    The predicate used to determine whether to invoke the trigger,
+	 *                  evaluated before a dictionary is allocated
+	 * @param populator The function used to set script variables for accepted values
+	 * @param <T>       The type of the passed object
+	 * @return This namespace
+	 * @see Trigger#accepts(Object)
+	 * @see Trigger#populate(Object, Dictionary)
+	 */
+	@Contract(value = "_, _, _, _ -> this")
+	default <T> @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<T> type,
+			@NotNull Predicate<@NotNull T> filter,
+			@NotNull BiConsumer<@NotNull T, @NotNull Dictionary> populator) {
+		return trigger(key, type, filter, populator, ExecutionPolicy.SYNC);
+	}
 
 	/**
-	 * Registers a custom trigger type.
+	 * Registers a new trigger with separate filter and population phases and an execution policy.
+	 * Dictionaries are only allocated for values accepted by the filter.
+	 *
+	 * @param key       The identifier for the trigger
+	 * @param type      The type class
+	 * @param filter    The predicate used to determine whether to invoke the trigger,
+	 *                  evaluated before a dictionary is allocated
+	 * @param populator The function used to set script variables for accepted values
+	 * @param policy    The policy determining where listeners are executed
+	 * @param <T>       The type of the passed object
+	 * @return This namespace
+	 * @see Trigger#accepts(Object)
+	 * @see Trigger#populate(Object, Dictionary)
+	 */
+	@Contract(value = "_, _, _, _, _ -> this")
+	default <T> @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<T> type,
+			@NotNull Predicate<@NotNull T> filter,
+			@NotNull BiConsumer<@NotNull T, @NotNull Dictionary> populator,
+			@NotNull ExecutionPolicy policy) {
+		return trigger(key, type, filter, populator, policy, ListenerOptions.DEFAULT);
+	}
+
+	/**
+	 * Registers a new trigger with separate filter and population phases, an execution
+	 * policy and listener options. Dictionaries are only allocated for values accepted by the filter.
+	 *
+	 * @param key       The identifier for the trigger
+	 * @param type      The type class
+	 * @param filter    The predicate used to determine whether to invoke the trigger,
+	 *                  evaluated before a dictionary is allocated
+	 * @param populator The function used to set script variables for accepted values
+	 * @param policy    The policy determining where listeners are executed
+	 * @param options   The default priority and cancellation handling of listeners,
+	 *                  which scripts may override for individual listeners
+	 * @param <T>       The type of the passed object
+	 * @return This namespace
+	 * @see Trigger#accepts(Object)
+	 * @see Trigger#populate(Object, Dictionary)
+	 * @see ListenerOptions
+	 */
+	@Contract(value = "_, _, _, _, _, _ -> this")
+	<T> @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<T> type,
+			@NotNull Predicate<@NotNull T> filter,
+			@NotNull BiConsumer<@NotNull T, @NotNull Dictionary> populator,
+			@NotNull ExecutionPolicy policy,
+			@NotNull ListenerOptions options);
+
+	/**
+	 * Registers a custom trigger type, whose listeners are
+	 * executed {@linkplain ExecutionPolicy#SYNC synchronously}.
 	 *
 	 * @param key     The identifier for the trigger
 	 * @param trigger The trigger class
@@ -73,20 +198,78 @@ public interface Namespace {
 	 * @see Trigger
 	 */
 	@Contract(value = "_, _ -> this")
+	default @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<? extends Trigger<?>> trigger) {
+		return trigger(key, trigger, ExecutionPolicy.SYNC);
+	}
+
+	/**
+	 * Registers a custom trigger type with an execution policy.
+	 *
+	 * @param key     The identifier for the trigger
+	 * @param trigger The trigger class
+	 * @param policy  The policy determining where listeners are executed
+	 * @return This namespace
+	 * @see Trigger
+	 * @see ExecutionPolicy
+	 */
+	@Contract(value = "_, _, _ -> this")
+	default @NotNull Namespace trigger(
+			@NotNull @Identifier String key,
+			@NotNull Class<? extends Trigger<?>> trigger,
+			@NotNull ExecutionPolicy policy) {
+		return trigger(key, trigger, policy, ListenerOptions.DEFAULT);
+	}
+
+	/**
+	 * Registers a custom trigger type with an execution policy and listener options.
+	 *
+	 * @param key     The identifier for the trigger
+	 * @param trigger The trigger class
+	 * @param policy  The policy determining where listeners are executed
+	 * @param options The default priority and cancellation handling of listeners,
+	 *                which scripts may override for individual listeners
+	 * @return This namespace
+	 * @see Trigger
+	 * @see ListenerOptions
+	 */
+	@Contract(value = "_, _, _, _ -> this")
 	@NotNull Namespace trigger(
 			@NotNull @Identifier String key,
-			@NotNull Class<? extends Trigger<?>> trigger);
+			@NotNull Class<? extends Trigger<?>> trigger,
+			@NotNull ExecutionPolicy policy,
+			@NotNull ListenerOptions options);
 
 	/**
 	 * Registers a set of static methods.
+	 * Each method is bound once through a {@link MethodInvoker}, so script calls
+	 * invoke it directly instead of through reflection. If the class has a generated
+	 * {@link BindingTable}, its bindings are registered without any reflection.
 	 *
 	 * @param methods The methods to register
 	 * @return This namespace
 	 * @see StaticMethods
+	 * @see MethodInvoker#of(StaticMethods, java.lang.reflect.Method)
+	 * @see MethodInvoker#of(StaticMethods, Binding)
 	 */
 	@Contract(value = "_ -> this")
 	@NotNull Namespace methods(@NotNull StaticMethods methods);
 
+	/**
+	 * Registers a set of static methods, binding them through the given lookup.
+	 * Classes of other plugins should be registered with their own lookup, which
+	 * allows their methods to be bound as directly as those of Helix itself.
+	 *
+	 * @param methods The methods to register
+	 * @param lookup  A lookup with full privilege access, usually {@link MethodHandles#lookup()}
+	 *                of the owner of the methods
+	 * @return This namespace
+	 * @see MethodInvoker#of(StaticMethods, java.lang.reflect.Method, MethodHandles.Lookup)
+	 */
+	@Contract(value = "_, _ -> this")
+	@NotNull Namespace methods(@NotNull StaticMethods methods, MethodHandles.@NotNull Lookup lookup);
+
 	/**
 	 * Registers a static void method.
 	 *
@@ -0,0 +1,61 @@
+package com.sniskus.helix.api.implementation;
+
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Listeners resolved by an index, split into regular listeners and {@link EventPriority#MONITOR} listeners.
+ * <p>
+ * Each listener array is accompanied by the {@linkplain ListenerOptions#isIgnoreCancelled()
+ * ignore cancelled} flags of its listeners, by index, so dispatch can skip listeners once a
+ * value has been cancelled without looking up their options. All arrays are shared and must
+ * not be modified.
+ * </p>
+ *
+ * @param listeners               The non-monitor listeners, ordered by priority
+ * @param ignoreCancelled         Whether each non-monitor listener ignores cancelled values
+ * @param monitors                The monitor listeners
+ * @param monitorsIgnoreCancelled Whether each monitor listener ignores cancelled values
+ * @param <L>                     The type of the listeners
+ * @see ListenerIndex#resolveAll(Class)
+ * @see RoutingIndex#routeAll(Object)
+ */
+public record Resolved<L>(
+		@NotNull L @NotNull [] listeners,
+		boolean @NotNull [] ignoreCancelled,
+		@NotNull L @NotNull [] monitors,
+		boolean @NotNull [] monitorsIgnoreCancelled) {
+
+	private static final boolean[] NONE = new boolean[0];
+
+	/**
+	 * Splits registrations ordered by priority at the first monitor listener.
+	 *
+	 * @param ordered   The registrations, ordered by priority
+	 * @param generator The function used to create listener arrays
+	 * @param <L>       The type of the listeners
+	 * @return The resolved listeners
+	 */
+	@SuppressWarnings("unchecked")
+	static <L> @NotNull Resolved<L> split(@NotNull Registry.Entry @NotNull [] ordered, @NotNull IntFunction<L[]> generator) {
+		L[] listeners = generator.apply(ordered.length);
+		boolean[] ignoreCancelled = ordered.length == 0 ? NONE : new boolean[ordered.length];
+		int monitors = 0;
+		for (int i = 0; i < ordered.length; i++) {
+			listeners[i] = (L) ordered[i].listener();
+			ignoreCancelled[i] = ordered[i].options().isIgnoreCancelled();
+			if (ordered[i].priority() == EventPriority.MONITOR) monitors++;
+		}
+		if (monitors == 0) return new Resolved<>(listeners, ignoreCancelled, generator.apply(0), NONE);
+		int regular = ordered.length - monitors;
+		return new Resolved<>(
+				Arrays.copyOf(listeners, regular),
+				Arrays.copyOf(ignoreCancelled, regular),
+				Arrays.copyOfRange(listeners, regular, ordered.length),
+				Arrays.copyOfRange(ignoreCancelled, regular, ordered.length));
+	}
+
+}
@@ -0,0 +1,247 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import org.bukkit.event.EventPriority;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * A registry of the listeners of a single trigger class, indexed by their routing key.
+ * <p>
+ * Each listener is registered with the {@linkplain Trigger#routingKey() routing key} of its
+ * trigger instance, or {@code null} if it has none. Routing a value by its
+ * {@linkplain Trigger#routingKeyOf(Object) key} returns the listeners registered with an equal
+ * key together with the listeners without a key, so listeners for other keys are never evaluated.
+ * The result for each key is precomputed, which makes routing a single hash lookup.
+ * </p>
+ * <p>
+ * Like {@link ListenerIndex}, the index is lock-free and its state is swapped atomically on
+ * every change, and multiple changes can be applied together through {@link #update(Consumer)}.
+ * Returned arrays are ordered by {@link EventPriority}, and then by registration
+ * order, and must not be modified. {@linkplain EventPriority#MONITOR Monitor} listeners are
+ * returned separately by {@link #routeMonitors(Object)}, and {@link #routeAll(Object)} also
+ * returns whether each listener ignores cancelled values.
+ * </p>
+ *
+ * @param <L> The type of the listeners
+ * @see EventBus#post(Trigger, Object)
+ */
+public final class RoutingIndex<L> {
+	private final Registry<Routes<L>> registry;
+
+	/**
+	 * Constructs an empty routing index.
+	 *
+	 * @param generator The function used to create listener arrays, typically {@code Listener[]::new}
+	 */
+	public RoutingIndex(@NotNull IntFunction<L[]> generator) {
+		Preconditions.checkNotNull(generator);
+		this.registry = new Registry<>(entries -> new Routes<>(entries, generator));
+	}
+
+	/**
+	 * Registers a listener with {@link EventPriority#NORMAL} priority.
+	 *
+	 * @param key      The routing key of the listener, or {@code null} to receive all values
+	 * @param listener The listener
+	 */
+	public void register(@Nullable Object key, @NotNull L listener) {
+		register(key, listener, EventPriority.NORMAL);
+	}
+
+	/**
+	 * Registers a listener.
+	 *
+	 * @param key      The routing key of the listener, or {@code null} to receive all values
+	 * @param listener The listener
+	 * @param priority The priority of the listener
+	 */
+	public void register(@Nullable Object key, @NotNull L listener, @NotNull EventPriority priority) {
+		register(key, listener, ListenerOptions.of(priority));
+	}
+
+	/**
+	 * Registers a listener.
+	 *
+	 * @param key      The routing key of the listener, or {@code null} to receive all values
+	 * @param listener The listener
+	 * @param options  The priority and cancellation handling of the listener
+	 */
+	public void register(@Nullable Object key, @NotNull L listener, @NotNull ListenerOptions options) {
+		update(batch -> batch.register(key, listener, options));
+	}
+
+	/**
+	 * Unregisters a listener.
+	 *
+	 * @param listener The listener
+	 * @return {@code true} if the listener was registered, {@code false} otherwise
+	 */
+	public boolean unregister(@NotNull L listener) {
+		return update(batch -> batch.unregister(listener)) > 0;
+	}
+
+	/**
+	 * Applies multiple changes at once. The changes are collected first and then become
+	 * visible to routing together, in a single atomic swap, so the routes are computed once
+	 * instead of once per change. Unregistrations are applied before registrations.
+	 *
+	 * @param changes The function collecting the changes, which is called once
+	 * @return The number of listeners which were unregistered
+	 */
+	public int update(@NotNull Consumer<? super Batch<L>> changes) {
+		Batch<L> batch = new Batch<>();
+		changes.accept(batch);
+		return registry.apply(batch.changes);
+	}
+
+	/**
+	 * Returns the non-{@linkplain EventPriority#MONITOR monitor} listeners which should
+	 * receive a value with the given routing key, ordered by priority.
+	 *
+	 * @param key The routing key of the value, or {@code null} to return all listeners
+	 * @return The shared array of matching listeners, which must not be modified
+	 * @see #routeMonitors(Object)
+	 */
+	@Contract(pure = true)
+	public @NotNull L @NotNull [] route(@Nullable Object key) {
+		return resolve(key).listeners();
+	}
+
+	/**
+	 * Returns the {@linkplain EventPriority#MONITOR monitor} listeners which should receive
+	 * a value with the given routing key. Monitor listeners run after all other listeners.
+	 *
+	 * @param key The routing key of the value, or {@code null} to return all listeners
+	 * @return The shared array of matching listeners, which must not be modified
+	 */
+	@Contract(pure = true)
+	public @NotNull L @NotNull [] routeMonitors(@Nullable Object key) {
+		return resolve(key).monitors();
+	}
+
+	/**
+	 * Returns all listeners which should receive a value with the given routing key,
+	 * together with whether each of them ignores cancelled values.
+	 *
+	 * @param key The routing key of the value, or {@code null} to return all listeners
+	 * @return The shared resolved listeners, whose arrays must not be modified
+	 */
+	@Contract(pure = true)
+	public @NotNull Resolved<L> routeAll(@Nullable Object key) {
+		return resolve(key);
+	}
+
+	/**
+	 * Checks whether no listeners are registered.
+	 *
+	 * @return {@code true} if this index is empty, {@code false} otherwise
+	 */
+	@Contract(pure = true)
+	public boolean isEmpty() {
+		return registry.isEmpty();
+	}
+
+	private @NotNull Resolved<L> resolve(@Nullable Object key) {
+		Routes<L> routes = registry.snapshot();
+		if (key == null) return routes.all;
+		Resolved<L> routed = routes.byKey.get(key);
+		return routed != null ? routed : routes.unrouted;
+	}
+
+	/**
+	 * The precomputed listener arrays per key of a snapshot.
+	 */
+	private static final class Routes<L> {
+		private final Resolved<L> all;
+		private final Resolved<L> unrouted;
+		private final Map<Object, Resolved<L>> byKey;
+
+		private Routes(@NotNull Registry.Entry[] entries, @NotNull IntFunction<L[]> generator) {
+			int[] unroutedIndices = IntStream.range(0, entries.length).filter(i -> entries[i].key() == null).toArray();
+			this.all = resolve(entries, IntStream.range(0, entries.length).toArray(), generator);
+			this.unrouted = resolve(entries, unroutedIndices, generator);
+			Map<Object, IntStream.Builder> grouped = new LinkedHashMap<>();
+			for (int i = 0; i < entries.length; i++) {
+				if (entries[i].key() != null) grouped.computeIfAbsent(entries[i].key(), key -> IntStream.builder()).add(i);
+			}
+			ImmutableMap.Builder<Object, Resolved<L>> byKey = ImmutableMap.builderWithExpectedSize(grouped.size());
+			grouped.forEach((key, indices) -> {
+				// Both index lists are ascending, so merging them preserves priority and registration order
+				int[] routed = IntStream.concat(indices.build(), Arrays.stream(unroutedIndices)).sorted().toArray();
+				byKey.put(key, resolve(entries, routed, generator));
+			});
+			this.byKey = byKey.buildOrThrow();
+		}
+
+		private static <L> @NotNull Resolved<L> resolve(
+				@NotNull Registry.Entry[] entries,
+				int @NotNull [] indices,
+				@NotNull IntFunction<L[]> generator) {
+			return Resolved.split(Arrays.stream(indices).mapToObj(i -> entries[i]).toArray(Registry.Entry[]::new), generator);
+		}
+	}
+
+	/**
+	 * A batch of changes to a {@link RoutingIndex}.
+	 *
+	 * @param <L> The type of the listeners
+	 * @see #update(Consumer)
+	 */
+	public static final class Batch<L> {
+		private final Registry.Batch changes = new Registry.Batch();
+
+		private Batch() { }
+
+		/**
+		 * Registers a listener with {@link EventPriority#NORMAL} priority.
+		 *
+		 * @param key      The routing key of the listener, or {@code null} to receive all values
+		 * @param listener The listener
+		 */
+		public void register(@Nullable Object key, @NotNull L listener) {
+			register(key, listener, EventPriority.NORMAL);
+		}
+
+		/**
+		 * Registers a listener.
+		 *
+		 * @param key      The routing key of the listener, or {@code null} to receive all values
+		 * @param listener The listener
+		 * @param priority The priority of the listener
+		 */
+		public void register(@Nullable Object key, @NotNull L listener, @NotNull EventPriority priority) {
+			register(key, listener, ListenerOptions.of(priority));
+		}
+
+		/**
+		 * Registers a listener.
+		 *
+		 * @param key      The routing key of the listener, or {@code null} to receive all values
+		 * @param listener The listener
+		 * @param options  The priority and cancellation handling of the listener
+		 */
+		public void register(@Nullable Object key, @NotNull L listener, @NotNull ListenerOptions options) {
+			changes.add(key, Preconditions.checkNotNull(listener), Preconditions.checkNotNull(options));
+		}
+
+		/**
+		 * Unregisters a listener.
+		 *
+		 * @param listener The listener
+		 */
+		public void unregister(@NotNull L listener) {
+			changes.removeAnyKey(Preconditions.checkNotNull(listener));
+		}
+	}
+
+}
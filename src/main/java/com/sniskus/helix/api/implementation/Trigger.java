@@ -2,11 +2,16 @@ package com.sniskus.helix.api.implementation;
 
 import com.google.common.base.Preconditions;
 import com.sniskus.helix.api.HelixApi;
+import com.sniskus.helix.api.script.Budget;
 import com.sniskus.helix.api.script.Dictionary;
+import org.bukkit.event.Cancellable;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiPredicate;
 
 /**
@@ -16,11 +21,20 @@ import java.util.function.BiPredicate;
  * These arguments are accessible to the user and are passed to the trigger instance
  * when it is created.
  * </p>
+ * <p>
+ * Listeners which create a trigger with equal arguments share a single instance, see
+ * {@link TriggerInterner}. The instance handles each value once and each of its listeners
+ * receives a {@linkplain Dictionary#overlay(Dictionary) copy-on-write overlay} of the same
+ * dictionary, so scripts can assign variables without affecting each other.
+ * Trigger instances must therefore not keep per-listener state.
+ * </p>
  *
  * @param <T> The type of value associated with this trigger
  * @see com.sniskus.helix.api.annotate.arguments
  * @see Namespace#trigger(String, Class)
  * @see Namespace#trigger(String, Class, BiPredicate)
+ * @see Namespace#trigger(String, Class, ExecutionPolicy)
+ * @see Namespace#trigger(String, Class, java.util.function.Predicate, java.util.function.BiConsumer)
  */
 public abstract class Trigger<T> {
 	private final Class<T> typeClass;
@@ -46,7 +60,7 @@ public abstract class Trigger<T> {
 	}
 
 	/**
-	 * Called when the trigger listener is registered.
+	 * Called when the first listener of this trigger instance is registered.
 	 * <p>
 	 * This method can be overridden to perform setup actions.
 	 * </p>
@@ -54,11 +68,92 @@ public abstract class Trigger<T> {
 	@ApiStatus.OverrideOnly
 	public void onListenerRegister() { }
 
+	/**
+	 * Determines whether the trigger should handle the given value.
+	 * <p>
+	 * This is the first phase of handling a value, which is evaluated before a dictionary is
+	 * allocated. Rejected values therefore cost no allocation, which is why cheap checks should
+	 * be performed here rather than in {@link #handle(Object, Dictionary)}. Implementations
+	 * should not allocate either.
+	 * </p>
+	 *
+	 * @param value The value passed when activating this trigger
+	 * @return {@code true} if the value should be handled; {@code false} otherwise
+	 */
+	@ApiStatus.OverrideOnly
+	public boolean accepts(T value) {
+		return true;
+	}
+
+	/**
+	 * Returns the routing key of this trigger instance, usually one of its constructor arguments,
+	 * such as an item id, block type or command name.
+	 * <p>
+	 * If a trigger declares routing keys, its listeners are indexed by them (see {@link RoutingIndex}),
+	 * and a value is only handled by the instances whose key equals the
+	 * {@linkplain #routingKeyOf(Object) key of the value}, as well as by instances without a key.
+	 * Both methods must be overridden together. Keys are compared using {@link Object#equals(Object)}.
+	 * </p>
+	 *
+	 * @return The routing key, or {@code null} if this instance handles all values
+	 * @see #routingKeyOf(Object)
+	 */
+	@ApiStatus.OverrideOnly
+	public @Nullable Object routingKey() {
+		return null;
+	}
+
+	/**
+	 * Returns the routing key of a value passed when activating this trigger.
+	 * Must not allocate, as it is evaluated for every activation.
+	 *
+	 * @param value The value passed when activating this trigger
+	 * @return The routing key, or {@code null} if the value should be handled by all instances
+	 * @see #routingKey()
+	 */
+	@ApiStatus.OverrideOnly
+	public @Nullable Object routingKeyOf(T value) {
+		return null;
+	}
+
+	/**
+	 * Checks whether a value has been cancelled by a previous listener.
+	 * Once a value is cancelled, the remaining listeners which
+	 * {@linkplain ListenerOptions#isIgnoreCancelled() ignore cancelled} values are skipped.
+	 * Must not allocate, as it is evaluated between listeners.
+	 * The default implementation checks whether the value is a cancelled {@link Cancellable}.
+	 *
+	 * @param value The value passed when activating this trigger
+	 * @return {@code true} if the value has been cancelled, {@code false} otherwise
+	 */
+	@ApiStatus.OverrideOnly
+	public boolean isCancelled(T value) {
+		return value instanceof Cancellable cancellable && cancellable.isCancelled();
+	}
+
+	/**
+	 * Sets the script variables for an accepted value.
+	 * Called by the default implementation of {@link #handle(Object, Dictionary)}.
+	 *
+	 * @param value The value passed when activating this trigger
+	 * @param dict  The dictionary used for script execution
+	 */
+	@ApiStatus.OverrideOnly
+	public void populate(T value, @NotNull Dictionary dict) { }
+
 	/**
 	 * Handles the execution of the trigger.
 	 * <p>
-	 * The handler method processes and validates the provided value and
-	 * can modify the given dictionary to set script variables before execution.
+	 * This is the second phase of handling a value, which is only reached if the value
+	 * was {@linkplain #accepts(Object) accepted}. The handler method processes and validates
+	 * the provided value and can modify the given dictionary to set script variables before
+	 * execution. The default implementation delegates to {@link #populate(Object, Dictionary)}
+	 * and always proceeds.
+	 * </p>
+	 * <p>
+	 * The dictionary is leased from {@link com.sniskus.helix.api.script.DictionaryPool} and is
+	 * recycled once the script has finished, which may be several ticks later for deferred
+	 * listeners. It must not be retained beyond this call.
 	 * </p>
 	 *
 	 * @param value The value passed when activating this trigger
@@ -67,11 +162,27 @@ public abstract class Trigger<T> {
 	 */
 	@ApiStatus.OverrideOnly
 	public boolean handle(T value, @NotNull Dictionary dict) {
+		populate(value, dict);
 		return true;
 	}
 
 	/**
-	 * Called when the trigger listener is unregistered.
+	 * Returns the budget for a single tick of execution of each listener of this trigger.
+	 * Listeners exceeding the budget are handled according to its
+	 * {@linkplain Budget.OverrunPolicy policy}; deferred listeners are continued in the next tick.
+	 * <p>
+	 * This method can be overridden to limit listeners; by default, they are unlimited.
+	 * </p>
+	 *
+	 * @return The budget
+	 */
+	@ApiStatus.OverrideOnly
+	public @NotNull Budget getBudget() {
+		return Budget.UNLIMITED;
+	}
+
+	/**
+	 * Called when the last listener of this trigger instance is unregistered.
 	 * <p>
 	 * This method can be overridden to perform cleanup actions when the trigger instance is removed.
 	 * </p>
@@ -89,6 +200,37 @@ public abstract class Trigger<T> {
 		HelixApi.getApi().getEventBus().post(this, with);
 	}
 
+	/**
+	 * Convenience method for calling this trigger asynchronously with the provided value.
+	 * Delegates to {@link EventBus#postAsync(Trigger, Object)}
+	 *
+	 * @param with The value to pass when activating the trigger
+	 * @return A future completed once all listeners have finished
+	 */
+	public final @NotNull CompletableFuture<Void> callAsync(T with) {
+		return HelixApi.getApi().getEventBus().postAsync(this, with);
+	}
+
+	/**
+	 * Convenience method for calling this trigger once for every provided value.
+	 * Delegates to {@link EventBus#postAll(Trigger, List)}
+	 *
+	 * @param values The values to pass, one per activation
+	 */
+	public final void callAll(@NotNull List<? extends T> values) {
+		HelixApi.getApi().getEventBus().postAll(this, values);
+	}
+
+	/**
+	 * Convenience method for calling this trigger once for every provided value.
+	 * Delegates to {@link EventBus#postAll(Trigger, Object[])}
+	 *
+	 * @param values The values to pass, one per activation
+	 */
+	public final void callAll(T @NotNull [] values) {
+		HelixApi.getApi().getEventBus().postAll(this, values);
+	}
+
 	/**
 	 * Represents a trigger that does not require a value when activated.
 	 */
@@ -101,6 +243,54 @@ public abstract class Trigger<T> {
 			super(Void.class);
 		}
 
+		/**
+		 * Determines whether the trigger should handle an activation.
+		 * Delegates to {@link Simple#accepts()}.
+		 *
+		 * @param value Ignored (always {@code null})
+		 * @return {@code true} if the activation should be handled; {@code false} otherwise
+		 * @see Simple#accepts()
+		 */
+		@Override
+		@ApiStatus.Internal
+		public final boolean accepts(Void value) {
+			return accepts();
+		}
+
+		/**
+		 * Determines whether the trigger should handle an activation. Like
+		 * {@link Trigger#accepts(Object)}, this is evaluated before a dictionary is allocated.
+		 *
+		 * @return {@code true} if the activation should be handled; {@code false} otherwise
+		 */
+		@ApiStatus.OverrideOnly
+		public boolean accepts() {
+			return true;
+		}
+
+		/**
+		 * Sets the script variables for an accepted activation.
+		 * Delegates to {@link Simple#populate(Dictionary)}.
+		 *
+		 * @param value Ignored (always {@code null})
+		 * @param dict  The dictionary used for script execution
+		 * @see Simple#populate(Dictionary)
+		 */
+		@Override
+		@ApiStatus.Internal
+		public final void populate(Void value, @NotNull Dictionary dict) {
+			populate(dict);
+		}
+
+		/**
+		 * Sets the script variables for an accepted activation.
+		 * Called by the default implementation of {@link Simple#handle(Dictionary)}.
+		 *
+		 * @param dict The dictionary used for script execution
+		 */
+		@ApiStatus.OverrideOnly
+		public void populate(@NotNull Dictionary dict) { }
+
 		/**
 		 * Handles the execution of the trigger. Delegates to {@link Simple#handle(Dictionary)}.
 		 *
@@ -119,13 +309,16 @@ public abstract class Trigger<T> {
 		 * Handles the execution of the trigger.
 		 * <p>
 		 * Since this trigger does not receive a value, this method is mainly meant
-		 * to store any necessary script variables before execution.
+		 * to store any necessary script variables before execution. The default
+		 * implementation delegates to {@link Simple#populate(Dictionary)} and always proceeds.
 		 * </p>
 		 *
+		 * @param dict The dictionary used for script execution
 		 * @return {@code true} if execution should proceed; {@code false} otherwise
 		 */
 		@ApiStatus.OverrideOnly
-		public boolean handle(@NotNull Dictionary ignored) {
+		public boolean handle(@NotNull Dictionary dict) {
+			populate(dict);
 			return true;
 		}
 
@@ -138,6 +331,17 @@ public abstract class Trigger<T> {
 			call(null);
 		}
 
+		/**
+		 * Convenience method for calling this trigger asynchronously.
+		 * Delegates to {@link Trigger#callAsync(Object)} with {@code null} as
+		 * the value object.
+		 *
+		 * @return A future completed once all listeners have finished
+		 */
+		public final @NotNull CompletableFuture<Void> callAsync() {
+			return callAsync(null);
+		}
+
 	}
 
 }
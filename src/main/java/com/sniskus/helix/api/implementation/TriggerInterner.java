@@ -0,0 +1,157 @@
+package com.sniskus.helix.api.implementation;
+
+import com.google.common.base.Preconditions;
+import com.sniskus.helix.api.script.ScriptException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares trigger instances between listeners which create them with equal constructor arguments.
+ * <p>
+ * Without interning, 500 scripts listening to {@code on-right-click "diamond_sword"} would
+ * create 500 equal trigger instances, each of which handles every event. With interning, they
+ * share a single instance, which handles each event once and fans the result out to all of its
+ * listeners. Arguments are compared using {@link Arrays#deepEquals(Object[], Object[])}.
+ * </p>
+ * <p>
+ * Instances are reference counted: {@link Trigger#onListenerRegister()} is called when the
+ * first listener acquires an instance, and {@link Trigger#onListenerUnregister()} when the last
+ * listener releases it. Both callbacks, as well as the constructor, run outside of any map
+ * operation, while concurrent acquisitions of the same arguments wait for them to finish.
+ * </p>
+ *
+ * @see EventBus
+ */
+public final class TriggerInterner {
+	private final Map<Key, Interned> instances = new ConcurrentHashMap<>();
+	private final Map<Trigger<?>, Interned> owners = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/**
+	 * Returns the instance of a trigger created with the given arguments, creating
+	 * it through its single public constructor if no listener holds one yet.
+	 *
+	 * @param type      The trigger class
+	 * @param arguments The constructor arguments
+	 * @param <T>       The type of the trigger
+	 * @return The shared trigger instance, which must be {@linkplain #release(Trigger) released}
+	 * once the listener is unregistered
+	 * @throws IllegalArgumentException If the trigger does not declare a single public constructor
+	 * @throws ScriptException          If the constructor rejects the arguments
+	 */
+	public <T extends Trigger<?>> @NotNull T acquire(@NotNull Class<T> type, @Nullable Object @NotNull ... arguments) {
+		Key key = new Key(type, arguments.clone());
+		while (true) {
+			Interned interned = instances.get(key);
+			if (interned == null) {
+				Interned created = new Interned(key);
+				synchronized (created) {
+					if (instances.putIfAbsent(key, created) != null) continue;
+					try {
+						created.trigger = create(type, key.arguments);
+						created.trigger.onListenerRegister();
+					} catch (RuntimeException | Error e) {
+						instances.remove(key, created);
+						throw e;
+					}
+					created.listeners = 1;
+					owners.put(created.trigger, created);
+					return type.cast(created.trigger);
+				}
+			}
+			synchronized (interned) {
+				// Released or failed to register while waiting, retry with a fresh instance
+				if (interned.listeners == 0) continue;
+				interned.listeners++;
+				return type.cast(interned.trigger);
+			}
+		}
+	}
+
+	/**
+	 * Releases a trigger instance previously returned by {@link #acquire(Class, Object...)}.
+	 *
+	 * @param trigger The trigger instance
+	 * @return {@code true} if this was the last listener of the instance, {@code false} otherwise
+	 * @throws IllegalArgumentException If the instance was not acquired from this interner
+	 */
+	public boolean release(@NotNull Trigger<?> trigger) {
+		Interned interned = owners.get(trigger);
+		Preconditions.checkArgument(interned != null, "Trigger was not acquired from this interner");
+		synchronized (interned) {
+			Preconditions.checkArgument(interned.listeners > 0, "Trigger was not acquired from this interner");
+			if (--interned.listeners > 0) return false;
+			try {
+				trigger.onListenerUnregister();
+			} finally {
+				owners.remove(trigger);
+				instances.remove(interned.key, interned);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the number of distinct trigger instances currently held by listeners.
+	 *
+	 * @return The number of instances
+	 */
+	@Contract(pure = true)
+	public int size() {
+		return instances.size();
+	}
+
+	private static @NotNull Trigger<?> create(@NotNull Class<?> type, @Nullable Object @NotNull [] arguments) {
+		Constructor<?>[] constructors = type.getConstructors();
+		Preconditions.checkArgument(constructors.length == 1, "%s must declare a single public constructor", type.getName());
+		try {
+			return (Trigger<?>) constructors[0].newInstance(arguments);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException cause) throw cause;
+			throw new ScriptException(e.getCause());
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Cannot instantiate " + type.getName(), e);
+		}
+	}
+
+	private static final class Interned {
+		private final Key key;
+		private Trigger<?> trigger;
+		private int listeners;
+
+		private Interned(@NotNull Key key) {
+			this.key = key;
+		}
+	}
+
+	private static final class Key {
+		private final Class<?> type;
+		private final Object[] arguments;
+		private final int hash;
+
+		private Key(@NotNull Class<?> type, @Nullable Object @NotNull [] arguments) {
+			this.type = type;
+			this.arguments = arguments;
+			this.hash = 31 * type.hashCode() + Arrays.deepHashCode(arguments);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key key && type == key.type && Arrays.deepEquals(arguments, key.arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -26,14 +27,35 @@ public interface Type<T> {
 
 	/**
 	 * Registers a set of non-static methods.
+	 * Each method is bound once through a {@link MethodInvoker}, so script calls
+	 * invoke it directly instead of through reflection. If the class has a generated
+	 * {@link BindingTable}, its bindings are registered without any reflection.
 	 *
 	 * @param methods The class implementing {@link InstanceMethods} for type {@code T}
 	 * @return This type
 	 * @see InstanceMethods
+	 * @see MethodInvoker#of(Class, java.lang.reflect.Method)
+	 * @see MethodInvoker#of(Binding)
 	 */
 	@Contract(value = "_ -> this")
 	@NotNull Type<T> methods(@NotNull Class<? extends InstanceMethods<? super T>> methods);
 
+	/**
+	 * Registers a set of non-static methods, binding them through the given lookup.
+	 * Classes of other plugins should be registered with their own lookup, which
+	 * allows their methods to be bound as directly as those of Helix itself.
+	 *
+	 * @param methods The class implementing {@link InstanceMethods} for type {@code T}
+	 * @param lookup  A lookup with full privilege access, usually {@link MethodHandles#lookup()}
+	 *                of the owner of the class
+	 * @return This type
+	 * @see MethodInvoker#of(Class, java.lang.reflect.Method, MethodHandles.Lookup)
+	 */
+	@Contract(value = "_, _ -> this")
+	@NotNull Type<T> methods(
+			@NotNull Class<? extends InstanceMethods<? super T>> methods,
+			MethodHandles.@NotNull Lookup lookup);
+
 	/**
 	 * Registers a non-static void method.
 	 *
@@ -119,6 +141,8 @@ public interface Type<T> {
 
 	/**
 	 * Registers a set of static methods.
+	 * Each method is bound once through a {@link MethodInvoker},
+	 * using the generated {@link BindingTable} of the class if present.
 	 *
 	 * @param methods The methods to register
 	 * @return This type
@@ -127,6 +151,18 @@ public interface Type<T> {
 	@Contract(value = "_ -> this")
 	@NotNull Type<T> methods(@NotNull StaticMethods methods);
 
+	/**
+	 * Registers a set of static methods, binding them through the given lookup.
+	 *
+	 * @param methods The methods to register
+	 * @param lookup  A lookup with full privilege access, usually {@link MethodHandles#lookup()}
+	 *                of the owner of the methods
+	 * @return This type
+	 * @see #methods(Class, MethodHandles.Lookup)
+	 */
+	@Contract(value = "_, _ -> this")
+	@NotNull Type<T> methods(@NotNull StaticMethods methods, MethodHandles.@NotNull Lookup lookup);
+
 	/**
 	 * Registers a static void method.
 	 *
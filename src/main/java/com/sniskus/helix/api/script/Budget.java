@@ -0,0 +1,136 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Limits how much work a script may perform in a single slice of execution.
+ * <p>
+ * A budget consists of an instruction limit and a time limit, either of which may be
+ * unlimited. Scripts check their budget at cooperative yield points, such as loop iterations
+ * and method calls, so a slice may slightly exceed its budget. What happens once a budget is
+ * exhausted is determined by its {@link OverrunPolicy}.
+ * </p>
+ *
+ * @see Script#start(Dictionary, Budget)
+ * @see com.sniskus.helix.api.implementation.Trigger#getBudget()
+ */
+public final class Budget {
+
+	/**
+	 * A budget without any limits.
+	 */
+	public static final Budget UNLIMITED = new Budget(Long.MAX_VALUE, Long.MAX_VALUE, OverrunPolicy.WARN);
+
+	private final long instructions;
+	private final long nanos;
+	private final OverrunPolicy policy;
+
+	private Budget(long instructions, long nanos, @NotNull OverrunPolicy policy) {
+		Preconditions.checkArgument(instructions > 0, "Instruction limit must be positive");
+		Preconditions.checkArgument(nanos > 0, "Time limit must be positive");
+		this.instructions = instructions;
+		this.nanos = nanos;
+		this.policy = Preconditions.checkNotNull(policy);
+	}
+
+	/**
+	 * Creates a budget limited to a number of instructions per slice.
+	 *
+	 * @param instructions The maximum number of instructions
+	 * @param policy       The policy applied once the limit is exceeded
+	 * @return A new budget
+	 * @throws IllegalArgumentException If {@code instructions} is not positive
+	 */
+	@Contract(value = "_, _ -> new", pure = true)
+	public static @NotNull Budget ofInstructions(long instructions, @NotNull OverrunPolicy policy) {
+		return new Budget(instructions, Long.MAX_VALUE, policy);
+	}
+
+	/**
+	 * Creates a budget limited to an amount of time per slice.
+	 *
+	 * @param time   The maximum execution time
+	 * @param policy The policy applied once the limit is exceeded
+	 * @return A new budget
+	 * @throws IllegalArgumentException If {@code time} is not positive
+	 */
+	@Contract(value = "_, _ -> new", pure = true)
+	public static @NotNull Budget ofTime(@NotNull Duration time, @NotNull OverrunPolicy policy) {
+		return new Budget(Long.MAX_VALUE, time.toNanos(), policy);
+	}
+
+	/**
+	 * Returns a copy of this budget which is additionally limited to a number of instructions.
+	 *
+	 * @param instructions The maximum number of instructions
+	 * @return A new budget
+	 * @throws IllegalArgumentException If {@code instructions} is not positive
+	 */
+	@Contract(value = "_ -> new", pure = true)
+	public @NotNull Budget withInstructions(long instructions) {
+		return new Budget(instructions, nanos, policy);
+	}
+
+	/**
+	 * Returns a copy of this budget which is additionally limited to an amount of time.
+	 *
+	 * @param time The maximum execution time
+	 * @return A new budget
+	 * @throws IllegalArgumentException If {@code time} is not positive
+	 */
+	@Contract(value = "_ -> new", pure = true)
+	public @NotNull Budget withTime(@NotNull Duration time) {
+		return new Budget(instructions, time.toNanos(), policy);
+	}
+
+	/**
+	 * Returns the maximum number of instructions per slice.
+	 *
+	 * @return The instruction limit, or {@link Long#MAX_VALUE} if unlimited
+	 */
+	@Contract(pure = true)
+	public long getInstructions() { return instructions; }
+
+	/**
+	 * Returns the maximum execution time per slice in nanoseconds.
+	 *
+	 * @return The time limit, or {@link Long#MAX_VALUE} if unlimited
+	 */
+	@Contract(pure = true)
+	public long getNanos() { return nanos; }
+
+	/**
+	 * Returns the policy applied once this budget is exceeded.
+	 *
+	 * @return The overrun policy
+	 */
+	@Contract(pure = true)
+	public @NotNull OverrunPolicy getPolicy() { return policy; }
+
+	/**
+	 * Determines what happens once a script exceeds its budget.
+	 */
+	public enum OverrunPolicy {
+
+		/**
+		 * The script is suspended at its next yield point and continued in the next tick.
+		 */
+		DEFER,
+
+		/**
+		 * The script is stopped with a {@link ScriptException}.
+		 */
+		ABORT,
+
+		/**
+		 * A warning is logged and the script continues to run.
+		 */
+		WARN
+
+	}
+
+}
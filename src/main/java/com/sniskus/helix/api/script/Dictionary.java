@@ -11,17 +11,164 @@ import java.util.Map;
 /**
  * Represents a dictionary storing key-value pairs (variables).
  * May be accessed after execution to retrieve values of variables.
+ * <p>
+ * Primitive variables should be accessed through the typed accessors, such as
+ * {@link #putLong(String, long)}, which avoid boxing where the implementation allows it.
+ * </p>
  */
 public interface Dictionary extends Map<@NotNull @Identifier String, @Nullable Object> {
 
+	/**
+	 * Stores a {@code long} variable. Implementations such as {@link FlatDictionary}
+	 * store the value without boxing it.
+	 *
+	 * @param key   The variable name
+	 * @param value The value
+	 */
+	default void putLong(@NotNull @Identifier String key, long value) {
+		put(key, value);
+	}
+
+	/**
+	 * Retrieves a variable as a {@code long}.
+	 *
+	 * @param key      The variable name
+	 * @param fallback The value to return if the variable is absent or {@code null}
+	 * @return The value of the variable, or the fallback
+	 * @throws ScriptException If the variable is not a number
+	 */
+	default long getLong(@NotNull @Identifier String key, long fallback) {
+		Object value = get(key);
+		if (value == null) return fallback;
+		if (value instanceof Number number) return number.longValue();
+		throw new ScriptException("Variable '" + key + "' is not a number");
+	}
+
+	/**
+	 * Stores a {@code double} variable. Implementations such as {@link FlatDictionary}
+	 * store the value without boxing it.
+	 *
+	 * @param key   The variable name
+	 * @param value The value
+	 */
+	default void putDouble(@NotNull @Identifier String key, double value) {
+		put(key, value);
+	}
+
+	/**
+	 * Retrieves a variable as a {@code double}.
+	 *
+	 * @param key      The variable name
+	 * @param fallback The value to return if the variable is absent or {@code null}
+	 * @return The value of the variable, or the fallback
+	 * @throws ScriptException If the variable is not a number
+	 */
+	default double getDouble(@NotNull @Identifier String key, double fallback) {
+		Object value = get(key);
+		if (value == null) return fallback;
+		if (value instanceof Number number) return number.doubleValue();
+		throw new ScriptException("Variable '" + key + "' is not a number");
+	}
+
+	/**
+	 * Stores a {@code boolean} variable. Implementations such as {@link FlatDictionary}
+	 * store the value without boxing it.
+	 *
+	 * @param key   The variable name
+	 * @param value The value
+	 */
+	default void putBoolean(@NotNull @Identifier String key, boolean value) {
+		put(key, value);
+	}
+
+	/**
+	 * Retrieves a variable as a {@code boolean}.
+	 *
+	 * @param key      The variable name
+	 * @param fallback The value to return if the variable is absent or {@code null}
+	 * @return The value of the variable, or the fallback
+	 * @throws ScriptException If the variable is not a boolean
+	 */
+	default boolean getBoolean(@NotNull @Identifier String key, boolean fallback) {
+		Object value = get(key);
+		if (value == null) return fallback;
+		if (value instanceof Boolean bool) return bool;
+		throw new ScriptException("Variable '" + key + "' is not a boolean");
+	}
+
+	/**
+	 * Returns this dictionary to the pool it was leased from. The dictionary must not be
+	 * used after it has been released. Dictionaries which are not pooled ignore this call.
+	 *
+	 * @throws IllegalStateException If this dictionary has already been released
+	 * @see DictionaryPool
+	 */
+	default void release() { }
+
 	/**
 	 * Convenience method for creating a dictionary.
 	 * Delegates to {@link HelixApi#dict()}.
 	 *
 	 * @return A new dictionary
+	 * @see FlatDictionary
 	 */
 	@NotNull
 	@Contract(value = "-> new", pure = true)
 	static Dictionary create() { return HelixApi.getApi().dict(); }
 
+	/**
+	 * Convenience method for leasing an empty dictionary from the shared pool.
+	 * Delegates to {@link DictionaryPool#acquire()}.
+	 *
+	 * @return A pooled dictionary, which must be released after use
+	 * @see DictionaryPool#shared()
+	 */
+	@NotNull
+	static Dictionary.Lease lease() { return DictionaryPool.shared().acquire(); }
+
+	/**
+	 * Returns a read-only view of the given dictionary. Any attempt
+	 * to modify the view throws an {@link UnsupportedOperationException}.
+	 * Releasing the view has no effect, as it does not own the dictionary.
+	 *
+	 * @param dict The dictionary to view
+	 * @return A read-only view, or the dictionary itself if it already is one
+	 */
+	@NotNull
+	@Contract(pure = true)
+	static Dictionary unmodifiable(@NotNull Dictionary dict) {
+		return dict instanceof UnmodifiableDictionary ? dict : new UnmodifiableDictionary(dict);
+	}
+
+	/**
+	 * Returns a copy-on-write overlay of the given dictionary. Reads go to the given
+	 * dictionary until the overlay is first modified, at which point its variables are
+	 * copied, so the given dictionary is never modified through the overlay.
+	 * Releasing the overlay has no effect on the given dictionary.
+	 *
+	 * @param dict The dictionary to overlay
+	 * @return A new overlay
+	 */
+	@NotNull
+	@Contract(value = "_ -> new", pure = true)
+	static Dictionary overlay(@NotNull Dictionary dict) {
+		return new OverlayDictionary(dict);
+	}
+
+	/**
+	 * A dictionary leased from a {@link DictionaryPool}, which
+	 * is released when closed.
+	 */
+	interface Lease extends Dictionary, AutoCloseable {
+
+		/**
+		 * Releases this dictionary. Delegates to {@link #release()}.
+		 */
+		@Override
+		default void close() {
+			release();
+		}
+
+	}
+
 }
\ No newline at end of file
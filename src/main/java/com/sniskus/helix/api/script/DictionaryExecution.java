@@ -0,0 +1,96 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An execution started with a dictionary, which owns the dictionary until the script
+ * has finished, failed or been cancelled.
+ * <p>
+ * Variables are copied into a frame before the first slice and written back once the
+ * script has finished, after which the dictionary is {@linkplain Dictionary#release() released}.
+ * </p>
+ *
+ * @see Script#start(Dictionary, Budget)
+ */
+final class DictionaryExecution implements Script.Execution {
+	private final Dictionary dict;
+	private final Frame frame;
+	private Script.Execution execution;
+	private boolean owned = true;
+
+	private DictionaryExecution(@NotNull Dictionary dict, @NotNull Frame frame) {
+		this.dict = dict;
+		this.frame = frame;
+	}
+
+	static @NotNull Script.Execution start(@NotNull Script script, @NotNull Dictionary dict, @NotNull Budget budget) {
+		Preconditions.checkNotNull(budget);
+		DictionaryExecution owner = new DictionaryExecution(dict, script.getLayout().newFrame());
+		try {
+			owner.copyIn();
+			owner.execution = script.start(owner.frame, budget);
+			if (owner.execution.isDone()) owner.finish();
+		} catch (RuntimeException | Error e) {
+			owner.release();
+			throw e;
+		}
+		return owner;
+	}
+
+	@Override
+	public boolean resume() {
+		Preconditions.checkState(owned, "Execution has already finished");
+		try {
+			boolean done = execution.resume();
+			if (done) finish();
+			return done;
+		} catch (RuntimeException | Error e) {
+			release();
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean isDone() {
+		return execution.isDone();
+	}
+
+	@Override
+	public void cancel() {
+		try {
+			execution.cancel();
+		} finally {
+			release();
+		}
+	}
+
+	private void copyIn() {
+		Frame.Layout layout = frame.getLayout();
+		for (int slot = 0; slot < layout.size(); slot++) {
+			String name = layout.name(slot);
+			Object value = dict.get(name);
+			if (value != null) frame.set(slot, value);
+		}
+	}
+
+	private void finish() {
+		Frame.Layout layout = frame.getLayout();
+		try {
+			for (int slot = 0; slot < layout.size(); slot++) {
+				String name = layout.name(slot);
+				Object value = frame.get(slot);
+				if (value != null || dict.containsKey(name)) dict.put(name, value);
+			}
+		} finally {
+			release();
+		}
+	}
+
+	private void release() {
+		if (!owned) return;
+		owned = false;
+		dict.release();
+	}
+
+}
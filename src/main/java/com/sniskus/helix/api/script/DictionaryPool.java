@@ -0,0 +1,241 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ForwardingMap;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of recyclable dictionaries shared by all threads.
+ * <p>
+ * Dictionaries leased from a pool are cleared and returned to the pool when
+ * {@link Dictionary.Lease#release()} is called, typically through a try-with-resources
+ * statement:
+ * {@snippet :
+ * try (Dictionary.Lease dict = Dictionary.lease()) {
+ *   if (trigger.handle(value, dict)) script.run(dict);
+ * }
+ *}
+ * </p>
+ * <p>
+ * Idle dictionaries are kept in a fixed array of slots which is claimed and refilled through
+ * atomic swaps. Each thread starts probing at a slot derived from its id, so concurrent
+ * threads rarely contend for the same slot. Unlike a thread-local pool, dictionaries released
+ * by one thread can be leased by any other, which keeps the pool effective when listeners run
+ * on short-lived virtual threads.
+ * </p>
+ * <p>
+ * Leases are pooled together with their dictionaries, so leasing from a warm pool allocates
+ * nothing. A lease must therefore not be used after it has been released, since the same
+ * lease may already have been handed out again.
+ * </p>
+ * <p>
+ * In debug mode, every lease is a separate handle which throws an {@link IllegalStateException}
+ * when used after it has been released, even once the underlying dictionary has been leased
+ * again. The shared pool enables debug mode if the {@code helix.dictionary.debug} system
+ * property is set to {@code true}.
+ * </p>
+ *
+ * @see Dictionary#lease()
+ */
+public final class DictionaryPool {
+	private static final DictionaryPool SHARED = new DictionaryPool(64, Boolean.getBoolean("helix.dictionary.debug"));
+
+	private final AtomicReferenceArray<Leased> idle;
+	private final boolean debug;
+
+	/**
+	 * Constructs a new dictionary pool.
+	 *
+	 * @param maxIdle The maximum number of idle dictionaries kept by the pool
+	 * @param debug   Whether to detect use of dictionaries after they are released
+	 * @throws IllegalArgumentException If {@code maxIdle} is negative
+	 */
+	public DictionaryPool(int maxIdle, boolean debug) {
+		Preconditions.checkArgument(maxIdle >= 0, "Max idle must be non-negative");
+		this.idle = new AtomicReferenceArray<>(maxIdle);
+		this.debug = debug;
+	}
+
+	/**
+	 * Returns the pool shared by Helix for trigger dispatch.
+	 *
+	 * @return The shared pool
+	 */
+	@Contract(pure = true)
+	public static @NotNull DictionaryPool shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Checks whether this pool detects use of dictionaries after they are released.
+	 *
+	 * @return {@code true} if debug mode is enabled, {@code false} otherwise
+	 */
+	@Contract(pure = true)
+	public boolean isDebug() {
+		return debug;
+	}
+
+	/**
+	 * Leases an empty dictionary from this pool, creating one if none is idle.
+	 *
+	 * @return An empty dictionary, which must be released after use
+	 */
+	public @NotNull Dictionary.Lease acquire() {
+		Leased leased = poll();
+		if (leased == null) leased = new Leased(this);
+		else leased.released = false;
+		return debug ? new Checked(leased) : leased;
+	}
+
+	private @Nullable Leased poll() {
+		int length = idle.length();
+		int start = probe(length);
+		for (int i = 0; i < length; i++) {
+			int index = (start + i) % length;
+			if (idle.getPlain(index) == null) continue;
+			Leased leased = idle.getAndSet(index, null);
+			if (leased != null) return leased;
+		}
+		return null;
+	}
+
+	private void recycle(@NotNull Leased leased) {
+		leased.dict.clear();
+		int length = idle.length();
+		int start = probe(length);
+		for (int i = 0; i < length; i++) {
+			int index = (start + i) % length;
+			if (idle.getPlain(index) == null && idle.compareAndSet(index, null, leased)) return;
+		}
+	}
+
+	private static int probe(int length) {
+		if (length == 0) return 0;
+		long id = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+		return (int) ((id >>> 32) % length);
+	}
+
+	/**
+	 * A leased dictionary, which returns itself and the underlying dictionary to the pool when released.
+	 */
+	private static final class Leased extends ForwardingMap<String, Object> implements Dictionary.Lease {
+		private final DictionaryPool pool;
+		private final FlatDictionary dict = new FlatDictionary();
+		private int generation;
+		private boolean released;
+
+		private Leased(@NotNull DictionaryPool pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		protected @NotNull Map<String, Object> delegate() {
+			return dict;
+		}
+
+		@Override
+		public void putLong(@NotNull String key, long value) {
+			dict.putLong(key, value);
+		}
+
+		@Override
+		public long getLong(@NotNull String key, long fallback) {
+			return dict.getLong(key, fallback);
+		}
+
+		@Override
+		public void putDouble(@NotNull String key, double value) {
+			dict.putDouble(key, value);
+		}
+
+		@Override
+		public double getDouble(@NotNull String key, double fallback) {
+			return dict.getDouble(key, fallback);
+		}
+
+		@Override
+		public void putBoolean(@NotNull String key, boolean value) {
+			dict.putBoolean(key, value);
+		}
+
+		@Override
+		public boolean getBoolean(@NotNull String key, boolean fallback) {
+			return dict.getBoolean(key, fallback);
+		}
+
+		@Override
+		public void release() {
+			Preconditions.checkState(!released, "Dictionary already released");
+			released = true;
+			generation++;
+			pool.recycle(this);
+		}
+	}
+
+	/**
+	 * A single lease of a pooled {@link Leased} in debug mode, which detects use after it
+	 * has been released through the generation of the pooled lease.
+	 */
+	private static final class Checked extends ForwardingMap<String, Object> implements Dictionary.Lease {
+		private final Leased leased;
+		private final int generation;
+
+		private Checked(@NotNull Leased leased) {
+			this.leased = leased;
+			this.generation = leased.generation;
+		}
+
+		@Override
+		protected @NotNull Map<String, Object> delegate() {
+			return checked();
+		}
+
+		private @NotNull FlatDictionary checked() {
+			Preconditions.checkState(leased.generation == generation, "Dictionary used after release");
+			return leased.dict;
+		}
+
+		@Override
+		public void putLong(@NotNull String key, long value) {
+			checked().putLong(key, value);
+		}
+
+		@Override
+		public long getLong(@NotNull String key, long fallback) {
+			return checked().getLong(key, fallback);
+		}
+
+		@Override
+		public void putDouble(@NotNull String key, double value) {
+			checked().putDouble(key, value);
+		}
+
+		@Override
+		public double getDouble(@NotNull String key, double fallback) {
+			return checked().getDouble(key, fallback);
+		}
+
+		@Override
+		public void putBoolean(@NotNull String key, boolean value) {
+			checked().putBoolean(key, value);
+		}
+
+		@Override
+		public boolean getBoolean(@NotNull String key, boolean fallback) {
+			return checked().getBoolean(key, fallback);
+		}
+
+		@Override
+		public void release() {
+			Preconditions.checkState(leased.generation == generation, "Dictionary already released");
+			leased.release();
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents an edit of a script, replacing a range of lines with new text.
+ * <p>
+ * Line indices are 0-based and refer to the lines of the script before the edit.
+ * An empty range inserts the text before the start line, while empty text
+ * deletes the range. Inserted lines are terminated like the lines they replace or follow,
+ * so editing the last lines of newline-terminated code keeps the final newline.
+ * </p>
+ *
+ * @see Parser#reparse(Script, Edit)
+ */
+public final class Edit {
+	private final int startLine;
+	private final int endLine;
+	private final String text;
+
+	/**
+	 * Constructs a new edit.
+	 *
+	 * @param startLine The 0-based index of the first replaced line
+	 * @param endLine   The 0-based index after the last replaced line
+	 * @param text      The new text, which may span multiple lines
+	 * @throws IllegalArgumentException If the line range is invalid
+	 * @throws NullPointerException     If {@code text} is {@code null}
+	 */
+	public Edit(int startLine, int endLine, @NotNull String text) {
+		Preconditions.checkArgument(startLine >= 0, "Start line must be non-negative");
+		Preconditions.checkArgument(endLine >= startLine, "End line must not precede start line");
+		this.startLine = startLine;
+		this.endLine = endLine;
+		this.text = Preconditions.checkNotNull(text);
+	}
+
+	/**
+	 * Returns the 0-based index of the first replaced line.
+	 *
+	 * @return The start line index
+	 */
+	@Contract(pure = true)
+	public int getStartLine() { return startLine; }
+
+	/**
+	 * Returns the 0-based index after the last replaced line.
+	 *
+	 * @return The end line index (exclusive)
+	 */
+	@Contract(pure = true)
+	public int getEndLine() { return endLine; }
+
+	/**
+	 * Returns the text replacing the line range.
+	 *
+	 * @return The new text
+	 */
+	@Contract(pure = true)
+	public @NotNull String getText() { return text; }
+
+	/**
+	 * Applies this edit to the given code.
+	 *
+	 * @param code The code to edit
+	 * @return The edited code
+	 * @throws IllegalArgumentException If the line range exceeds the code
+	 */
+	@Contract(pure = true)
+	public @NotNull String apply(@NotNull String code) {
+		int start = offset(code, startLine);
+		int end = offset(code, endLine);
+		if (start == code.length() && !code.isEmpty() && !code.endsWith("\n")) {
+			// Appending after a last line which is not terminated
+			return code + '\n' + text;
+		}
+		// Replacing the unterminated last line keeps it unterminated, any other line keeps its terminator
+		if (text.isEmpty() || text.endsWith("\n") || (end == code.length() && !code.endsWith("\n"))) {
+			return code.substring(0, start) + text + code.substring(end);
+		}
+		return code.substring(0, start) + text + '\n' + code.substring(end);
+	}
+
+	private static int offset(@NotNull String code, int line) {
+		int offset = 0;
+		for (int i = 0; i < line; i++) {
+			int next = code.indexOf('\n', offset);
+			if (next < 0) {
+				Preconditions.checkArgument(i == line - 1 && offset < code.length(), "Line %s exceeds the code", line);
+				return code.length();
+			}
+			offset = next + 1;
+		}
+		return offset;
+	}
+
+}
@@ -0,0 +1,345 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An open-addressing {@link Dictionary} backed by flat arrays.
+ * <p>
+ * Entries are stored in parallel arrays instead of linked nodes, so adding a variable
+ * does not allocate. Values written through the typed accessors, such as
+ * {@link #putLong(String, long)}, are kept in a primitive lane and are only boxed when
+ * read back through the generic {@link Map} methods.
+ * </p>
+ * <p>
+ * This is the default implementation returned by {@link Dictionary#create()} and the
+ * one recycled by {@link DictionaryPool}, whose leases wrap it. Instances are not thread-safe.
+ * </p>
+ */
+public final class FlatDictionary extends AbstractMap<String, Object> implements Dictionary {
+	private static final byte FREE = 0, REMOVED = 1, OBJECT = 2, LONG = 3, DOUBLE = 4, BOOLEAN = 5;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private String[] keys;
+	private Object[] objects;
+	private long[] primitives;
+	private byte[] kinds;
+	private int size, used;
+	private EntrySet entrySet;
+
+	/**
+	 * Constructs an empty dictionary with the default capacity.
+	 */
+	public FlatDictionary() {
+		this(DEFAULT_CAPACITY / 2);
+	}
+
+	/**
+	 * Constructs an empty dictionary which can hold the specified number of
+	 * variables without resizing.
+	 *
+	 * @param expectedSize The expected number of variables
+	 * @throws IllegalArgumentException If {@code expectedSize} is negative
+	 */
+	public FlatDictionary(int expectedSize) {
+		Preconditions.checkArgument(expectedSize >= 0, "Expected size must be non-negative");
+		allocate(Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+	}
+
+	// === Typed access ===============================================
+
+	@Override
+	public void putLong(@NotNull String key, long value) {
+		int index = insert(key);
+		objects[index] = null;
+		primitives[index] = value;
+		kinds[index] = LONG;
+	}
+
+	@Override
+	public long getLong(@NotNull String key, long fallback) {
+		int index = find(key);
+		if (index < 0) return fallback;
+		return switch (kinds[index]) {
+			case LONG -> primitives[index];
+			case DOUBLE -> (long) Double.longBitsToDouble(primitives[index]);
+			case BOOLEAN -> throw new ScriptException("Variable '" + key + "' is not a number");
+			default -> Dictionary.super.getLong(key, fallback);
+		};
+	}
+
+	@Override
+	public void putDouble(@NotNull String key, double value) {
+		int index = insert(key);
+		objects[index] = null;
+		primitives[index] = Double.doubleToRawLongBits(value);
+		kinds[index] = DOUBLE;
+	}
+
+	@Override
+	public double getDouble(@NotNull String key, double fallback) {
+		int index = find(key);
+		if (index < 0) return fallback;
+		return switch (kinds[index]) {
+			case DOUBLE -> Double.longBitsToDouble(primitives[index]);
+			case LONG -> primitives[index];
+			case BOOLEAN -> throw new ScriptException("Variable '" + key + "' is not a number");
+			default -> Dictionary.super.getDouble(key, fallback);
+		};
+	}
+
+	@Override
+	public void putBoolean(@NotNull String key, boolean value) {
+		int index = insert(key);
+		objects[index] = null;
+		primitives[index] = value ? 1 : 0;
+		kinds[index] = BOOLEAN;
+	}
+
+	@Override
+	public boolean getBoolean(@NotNull String key, boolean fallback) {
+		int index = find(key);
+		if (index < 0) return fallback;
+		return switch (kinds[index]) {
+			case BOOLEAN -> primitives[index] != 0;
+			case LONG, DOUBLE -> throw new ScriptException("Variable '" + key + "' is not a boolean");
+			default -> Dictionary.super.getBoolean(key, fallback);
+		};
+	}
+
+	// === Map ========================================================
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof String string && find(string) >= 0;
+	}
+
+	@Override
+	public @Nullable Object get(Object key) {
+		if (!(key instanceof String string)) return null;
+		int index = find(string);
+		return index < 0 ? null : value(index);
+	}
+
+	@Override
+	public @Nullable Object put(@NotNull String key, @Nullable Object value) {
+		int index = insert(key);
+		Object previous = kinds[index] == FREE ? null : value(index);
+		objects[index] = value;
+		primitives[index] = 0;
+		kinds[index] = OBJECT;
+		return previous;
+	}
+
+	@Override
+	public @Nullable Object remove(Object key) {
+		if (!(key instanceof String string)) return null;
+		int index = find(string);
+		if (index < 0) return null;
+		Object previous = value(index);
+		delete(index);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		if (used == 0) return;
+		Arrays.fill(keys, null);
+		Arrays.fill(objects, null);
+		Arrays.fill(kinds, FREE);
+		size = used = 0;
+	}
+
+	@Override
+	public @NotNull Set<Entry<String, Object>> entrySet() {
+		EntrySet set = entrySet;
+		return set == null ? entrySet = new EntrySet() : set;
+	}
+
+	// === Internals ==================================================
+
+	private void allocate(int capacity) {
+		keys = new String[capacity];
+		objects = new Object[capacity];
+		primitives = new long[capacity];
+		kinds = new byte[capacity];
+		size = used = 0;
+	}
+
+	private static int hash(@NotNull String key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private int find(@NotNull String key) {
+		int mask = keys.length - 1;
+		for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+			byte kind = kinds[i];
+			if (kind == FREE) return -1;
+			if (kind != REMOVED && key.equals(keys[i])) return i;
+		}
+	}
+
+	/**
+	 * Returns the index of the key, claiming a slot for it if absent.
+	 * A newly claimed slot is reported as {@link #FREE} until the caller sets its kind.
+	 */
+	private int insert(@NotNull String key) {
+		Preconditions.checkNotNull(key);
+		int mask = keys.length - 1;
+		int reuse = -1;
+		for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+			byte kind = kinds[i];
+			if (kind == FREE) {
+				if (reuse < 0) {
+					if ((used + 1) * 4 > keys.length * 3) {
+						rehash(size + 1 > keys.length / 2 ? keys.length * 2 : keys.length);
+						return insert(key);
+					}
+					used++;
+					reuse = i;
+				}
+				keys[reuse] = key;
+				kinds[reuse] = FREE;
+				size++;
+				return reuse;
+			}
+			if (kind == REMOVED) {
+				if (reuse < 0) reuse = i;
+			} else if (key.equals(keys[i])) {
+				return i;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		String[] oldKeys = keys;
+		Object[] oldObjects = objects;
+		long[] oldPrimitives = primitives;
+		byte[] oldKinds = kinds;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKinds.length; j++) {
+			if (oldKinds[j] < OBJECT) continue;
+			int i = hash(oldKeys[j]) & mask;
+			while (kinds[i] != FREE) i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			objects[i] = oldObjects[j];
+			primitives[i] = oldPrimitives[j];
+			kinds[i] = oldKinds[j];
+			size++;
+			used++;
+		}
+	}
+
+	private void delete(int index) {
+		keys[index] = null;
+		objects[index] = null;
+		kinds[index] = REMOVED;
+		size--;
+	}
+
+	private @Nullable Object value(int index) {
+		return switch (kinds[index]) {
+			case LONG -> primitives[index];
+			case DOUBLE -> Double.longBitsToDouble(primitives[index]);
+			case BOOLEAN -> primitives[index] != 0;
+			default -> objects[index];
+		};
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			FlatDictionary.this.clear();
+		}
+
+		@Override
+		public @NotNull Iterator<Entry<String, Object>> iterator() {
+			return new Iterator<>() {
+				private int next = advance(0), last = -1;
+
+				private int advance(int from) {
+					while (from < kinds.length && kinds[from] < OBJECT) from++;
+					return from;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return next < kinds.length;
+				}
+
+				@Override
+				public Entry<String, Object> next() {
+					if (next >= kinds.length) throw new NoSuchElementException();
+					last = next;
+					next = advance(next + 1);
+					return new EntryView(last);
+				}
+
+				@Override
+				public void remove() {
+					Preconditions.checkState(last >= 0 && kinds[last] >= OBJECT);
+					delete(last);
+				}
+			};
+		}
+	}
+
+	private final class EntryView implements Entry<String, Object> {
+		private final String key;
+		private final int index;
+
+		private EntryView(int index) {
+			this.key = keys[index];
+			this.index = index;
+		}
+
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		@Override
+		public Object getValue() {
+			return keys[index] == key ? value(index) : get(key);
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			return put(key, value);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Entry<?, ?> entry
+					&& key.equals(entry.getKey())
+					&& Objects.equals(getValue(), entry.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+
+}
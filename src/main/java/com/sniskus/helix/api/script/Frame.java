@@ -0,0 +1,166 @@
+package com.sniskus.helix.api.script;
+
+import com.sniskus.helix.api.Identifier;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a pre-laid-out variable frame used for executing a {@link Script}.
+ * <p>
+ * Every variable of a script is assigned an integer slot by the {@link Parser}, which
+ * allows variables to be accessed without a string lookup. Primitive values are stored
+ * in dedicated {@code long}, {@code double} and {@code boolean} lanes and are never boxed.
+ * </p>
+ * <p>
+ * Reading a slot through a lane other than the one it was last written through converts the
+ * value using the same rules scripts use. If no such conversion exists, a {@link ScriptException}
+ * is thrown. Frames are not thread-safe.
+ * </p>
+ *
+ * @see Script#getLayout()
+ * @see Script#run(Frame)
+ */
+public interface Frame {
+
+	/**
+	 * Returns the layout this frame was created from.
+	 *
+	 * @return The layout
+	 */
+	@Contract(pure = true)
+	@NotNull Layout getLayout();
+
+	/**
+	 * Returns the value of a slot, boxing it if it is stored in a primitive lane.
+	 *
+	 * @param slot The slot index
+	 * @return The value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 */
+	@Nullable Object get(int slot);
+
+	/**
+	 * Sets the value of a slot.
+	 *
+	 * @param slot  The slot index
+	 * @param value The new value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 */
+	void set(int slot, @Nullable Object value);
+
+	/**
+	 * Returns the value of a slot as a {@code long}.
+	 *
+	 * @param slot The slot index
+	 * @return The value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 * @throws ScriptException           If the value cannot be converted
+	 */
+	long getLong(int slot);
+
+	/**
+	 * Sets the value of a slot to a {@code long} without boxing.
+	 *
+	 * @param slot  The slot index
+	 * @param value The new value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 */
+	void setLong(int slot, long value);
+
+	/**
+	 * Returns the value of a slot as a {@code double}.
+	 *
+	 * @param slot The slot index
+	 * @return The value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 * @throws ScriptException           If the value cannot be converted
+	 */
+	double getDouble(int slot);
+
+	/**
+	 * Sets the value of a slot to a {@code double} without boxing.
+	 *
+	 * @param slot  The slot index
+	 * @param value The new value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 */
+	void setDouble(int slot, double value);
+
+	/**
+	 * Returns the value of a slot as a {@code boolean}.
+	 *
+	 * @param slot The slot index
+	 * @return The value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 * @throws ScriptException           If the value cannot be converted
+	 */
+	boolean getBoolean(int slot);
+
+	/**
+	 * Sets the value of a slot to a {@code boolean} without boxing.
+	 *
+	 * @param slot  The slot index
+	 * @param value The new value
+	 * @throws IndexOutOfBoundsException If the slot is not part of the layout
+	 */
+	void setBoolean(int slot, boolean value);
+
+	/**
+	 * Resets every slot to {@code null}, allowing the frame to be reused.
+	 */
+	void clear();
+
+	/**
+	 * Returns a live {@link Dictionary} view of this frame. Writes to the view are
+	 * reflected in the frame and vice versa. Keys which are not part of the
+	 * layout cannot be added to the view.
+	 *
+	 * @return The dictionary view
+	 */
+	@Contract(pure = true)
+	@NotNull Dictionary asDictionary();
+
+	/**
+	 * Describes the slots of a parsed script. Layouts are immutable and thread-safe.
+	 */
+	interface Layout {
+
+		/**
+		 * Returns the number of slots in this layout.
+		 *
+		 * @return The slot count
+		 */
+		@Contract(pure = true)
+		int size();
+
+		/**
+		 * Returns the slot assigned to a variable.
+		 *
+		 * @param name The variable name
+		 * @return The slot index, or {@code -1} if the script does not use the variable
+		 */
+		@Contract(pure = true)
+		int slot(@NotNull @Identifier String name);
+
+		/**
+		 * Returns the name of the variable assigned to a slot.
+		 *
+		 * @param slot The slot index
+		 * @return The variable name
+		 * @throws IndexOutOfBoundsException If the slot is not part of this layout
+		 */
+		@Contract(pure = true)
+		@NotNull @Identifier String name(int slot);
+
+		/**
+		 * Creates a new, empty frame with this layout.
+		 *
+		 * @return A new frame
+		 */
+		@Contract(value = "-> new", pure = true)
+		@NotNull Frame newFrame();
+
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.collect.ForwardingMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A copy-on-write overlay of a shared dictionary.
+ * <p>
+ * Reads go to the shared dictionary until the first write, which copies its variables into
+ * a private {@link FlatDictionary}. The shared dictionary is never modified, so any number of
+ * overlays can be created over the same dictionary without copying it for readers.
+ * Collection views obtained before the first write are read-only views of the shared
+ * dictionary; modifications must go through the map methods.
+ * </p>
+ *
+ * @see Dictionary#overlay(Dictionary)
+ */
+final class OverlayDictionary extends ForwardingMap<String, Object> implements Dictionary {
+	private final Dictionary shared;
+	private final Map<String, Object> view;
+	private FlatDictionary copy;
+
+	OverlayDictionary(@NotNull Dictionary shared) {
+		this.shared = shared;
+		this.view = Collections.unmodifiableMap(shared);
+	}
+
+	@Override
+	protected @NotNull Map<String, Object> delegate() {
+		return copy != null ? copy : view;
+	}
+
+	private @NotNull Dictionary readable() {
+		return copy != null ? copy : shared;
+	}
+
+	private @NotNull FlatDictionary writable() {
+		if (copy == null) {
+			FlatDictionary dict = new FlatDictionary(shared.size());
+			dict.putAll(shared);
+			copy = dict;
+		}
+		return copy;
+	}
+
+	@Override
+	public Object put(@NotNull String key, Object value) {
+		return writable().put(key, value);
+	}
+
+	@Override
+	public void putAll(@NotNull Map<? extends String, ?> map) {
+		writable().putAll(map);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return containsKey(key) ? writable().remove(key) : null;
+	}
+
+	@Override
+	public void clear() {
+		if (copy != null) copy.clear();
+		else copy = new FlatDictionary();
+	}
+
+	@Override
+	public void putLong(@NotNull String key, long value) {
+		writable().putLong(key, value);
+	}
+
+	@Override
+	public long getLong(@NotNull String key, long fallback) {
+		return readable().getLong(key, fallback);
+	}
+
+	@Override
+	public void putDouble(@NotNull String key, double value) {
+		writable().putDouble(key, value);
+	}
+
+	@Override
+	public double getDouble(@NotNull String key, double fallback) {
+		return readable().getDouble(key, fallback);
+	}
+
+	@Override
+	public void putBoolean(@NotNull String key, boolean value) {
+		writable().putBoolean(key, value);
+	}
+
+	@Override
+	public boolean getBoolean(@NotNull String key, boolean fallback) {
+		return readable().getBoolean(key, fallback);
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.collect.ImmutableMap;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The outcome of parsing multiple {@link Source}s at once.
+ * <p>
+ * Every source passed to the parser appears in exactly one of the maps returned by
+ * {@link #getScripts()}, {@link #getSyntaxErrors()} and {@link #getIoErrors()}.
+ * All maps preserve the order in which the sources were passed.
+ * </p>
+ *
+ * @see Parser#parseAll(java.util.Collection, java.util.concurrent.Executor)
+ * @see Parser#parseAll(java.nio.file.Path, java.util.concurrent.Executor)
+ */
+public final class ParseResults {
+	private final ImmutableMap<Source, Script> scripts;
+	private final ImmutableMap<Source, SyntaxException> syntaxErrors;
+	private final ImmutableMap<Source, IOException> ioErrors;
+
+	ParseResults(@NotNull Source[] sources, @NotNull Object[] results) {
+		ImmutableMap.Builder<Source, Script> scripts = ImmutableMap.builder();
+		ImmutableMap.Builder<Source, SyntaxException> syntaxErrors = ImmutableMap.builder();
+		ImmutableMap.Builder<Source, IOException> ioErrors = ImmutableMap.builder();
+		for (int i = 0; i < sources.length; i++) {
+			if (results[i] instanceof Script script) scripts.put(sources[i], script);
+			else if (results[i] instanceof SyntaxException e) syntaxErrors.put(sources[i], e);
+			else ioErrors.put(sources[i], (IOException) results[i]);
+		}
+		this.scripts = scripts.buildOrThrow();
+		this.syntaxErrors = syntaxErrors.buildOrThrow();
+		this.ioErrors = ioErrors.buildOrThrow();
+	}
+
+	/**
+	 * Returns the successfully parsed scripts.
+	 *
+	 * @return An immutable map of sources to their scripts
+	 */
+	@Contract(pure = true)
+	public @NotNull Map<Source, Script> getScripts() { return scripts; }
+
+	/**
+	 * Returns the syntax errors of sources which could not be parsed.
+	 *
+	 * @return An immutable map of sources to their syntax errors
+	 */
+	@Contract(pure = true)
+	public @NotNull Map<Source, SyntaxException> getSyntaxErrors() { return syntaxErrors; }
+
+	/**
+	 * Returns the I/O errors of sources which could not be read.
+	 *
+	 * @return An immutable map of sources to their I/O errors
+	 */
+	@Contract(pure = true)
+	public @NotNull Map<Source, IOException> getIoErrors() { return ioErrors; }
+
+	/**
+	 * Checks whether every source was parsed successfully.
+	 *
+	 * @return {@code true} if there are no errors, {@code false} otherwise
+	 */
+	@Contract(pure = true)
+	public boolean isSuccessful() { return syntaxErrors.isEmpty() && ioErrors.isEmpty(); }
+
+}
@@ -1,16 +1,32 @@
 package com.sniskus.helix.api.script;
 
+import com.google.common.base.Preconditions;
 import com.sniskus.helix.api.HelixApi;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A thread-safe parser for {@link Script}s.
  * <p>
  * The {@code Parser} is responsible for reading {@link Source}s and converting
- * them into executable {@code Script} objects.
+ * them into executable {@code Script} objects. Sources are lexed directly from
+ * {@link Source#content()}, so file sources are decoded without an intermediate stream
+ * and in-memory sources are not copied.
  * </p>
  *
  * @see Script
@@ -18,17 +34,181 @@ import java.io.IOException;
  */
 public interface Parser {
 
+	/**
+	 * The name of the cache directory, relative to the script root.
+	 *
+	 * @see #parseCached(Source.ForFile)
+	 */
+	String CACHE_DIRECTORY = ".cache";
+
 	/**
 	 * Parses the given source code into an executable script.
 	 *
 	 * @param source The source to parse
 	 * @return The parsed script
 	 * @throws IOException     If an I/O error occurs while reading the source
-	 * @throws SyntaxException If the source contains syntax errors
+	 * @throws SyntaxException If the source contains syntax errors. All errors
+	 *                         are reported, see {@link SyntaxException#getErrors()}
 	 */
 	@Contract(pure = true)
 	@NotNull Script parse(@NotNull Source source) throws IOException, SyntaxException;
 
+	/**
+	 * Parses the given file, reusing the cached parsed form if the file has not changed.
+	 * <p>
+	 * Parsed scripts are stored in a binary format under the {@value #CACHE_DIRECTORY}
+	 * directory of the {@linkplain com.sniskus.helix.api.HelixApi#getScriptRoot() script root},
+	 * keyed by the {@linkplain Source#hash() content hash} of the source and the
+	 * {@linkplain #getVersion() parser version}. On a cache hit, lexing and parsing are skipped
+	 * entirely. On a miss, the file is parsed as by {@link #parse(Source)} and the result is
+	 * written to the cache. Unreadable or outdated cache entries are treated as misses.
+	 * </p>
+	 *
+	 * @param source The file to parse
+	 * @return The parsed script
+	 * @throws IOException     If an I/O error occurs while reading the source
+	 * @throws SyntaxException If the source contains syntax errors
+	 */
+	@NotNull Script parseCached(@NotNull Source.ForFile source) throws IOException, SyntaxException;
+
+	/**
+	 * Returns the version of the binary format used for cached scripts.
+	 * The version changes whenever cached scripts become incompatible.
+	 *
+	 * @return The parser version
+	 * @see #parseCached(Source.ForFile)
+	 */
+	@Contract(pure = true)
+	int getVersion();
+
+	/**
+	 * Returns the file extension of scripts, including the leading dot.
+	 *
+	 * @return The file extension
+	 * @see #parseAll(Path, Executor)
+	 */
+	@Contract(pure = true)
+	@NotNull String getFileExtension();
+
+	/**
+	 * Parses multiple sources concurrently on the given executor.
+	 * File sources are parsed through {@link #parseCached(Source.ForFile)}.
+	 * <p>
+	 * Unlike {@link #parse(Source)}, errors do not abort the operation. Instead,
+	 * they are collected per source in the returned results.
+	 * </p>
+	 *
+	 * @param sources  The sources to parse
+	 * @param executor The executor to parse on, for example a virtual thread per task executor
+	 * @return A future completed with the per-source results
+	 * @throws IllegalArgumentException If a source, or a file, is passed more than once
+	 */
+	default @NotNull CompletableFuture<ParseResults> parseAll(
+			@NotNull Collection<? extends Source> sources,
+			@NotNull Executor executor) {
+		Source[] array = sources.toArray(Source[]::new);
+		Set<Object> seen = new HashSet<>();
+		for (Source source : array) {
+			Object key = source instanceof Source.ForFile file ? file.getPath().toAbsolutePath().normalize() : source;
+			Preconditions.checkArgument(seen.add(key), "Duplicate source: %s", key);
+		}
+		Object[] results = new Object[array.length];
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[array.length];
+		for (int i = 0; i < array.length; i++) {
+			int index = i;
+			futures[i] = CompletableFuture.runAsync(() -> {
+				try {
+					results[index] = array[index] instanceof Source.ForFile file ? parseCached(file) : parse(array[index]);
+				} catch (IOException | SyntaxException e) {
+					results[index] = e;
+				}
+			}, executor);
+		}
+		return CompletableFuture.allOf(futures).thenApply(ignored -> new ParseResults(array, results));
+	}
+
+	/**
+	 * Parses every script file under the given directory concurrently on the given executor.
+	 * Only files with the {@linkplain #getFileExtension() script extension} are parsed.
+	 * Hidden files and directories, such as the {@value #CACHE_DIRECTORY} directory, are skipped.
+	 *
+	 * @param root     The directory to parse, usually the
+	 *                 {@linkplain com.sniskus.helix.api.HelixApi#getScriptRoot() script root}
+	 * @param executor The executor to parse on
+	 * @return A future completed with the per-source results
+	 * @throws IOException If an I/O error occurs while walking the directory
+	 * @see #parseAll(Collection, Executor)
+	 */
+	default @NotNull CompletableFuture<ParseResults> parseAll(@NotNull Path root, @NotNull Executor executor) throws IOException {
+		String extension = getFileExtension();
+		List<Source> sources = new ArrayList<>();
+		Files.walkFileTree(root, new SimpleFileVisitor<>() {
+
+			@Override
+			public @NotNull FileVisitResult preVisitDirectory(@NotNull Path dir, @NotNull BasicFileAttributes attrs) {
+				return dir.equals(root) || !isHidden(dir) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+			}
+
+			@Override
+			public @NotNull FileVisitResult visitFile(@NotNull Path file, @NotNull BasicFileAttributes attrs) {
+				if (attrs.isRegularFile() && !isHidden(file) && file.getFileName().toString().endsWith(extension)) {
+					sources.add(Source.fromPath(file));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			private static boolean isHidden(@NotNull Path path) {
+				Path name = path.getFileName();
+				return name != null && name.toString().startsWith(".");
+			}
+		});
+		return parseAll(sources, executor);
+	}
+
+	/**
+	 * Applies an edit to a previously parsed script and returns the resulting script.
+	 * <p>
+	 * Blocks of the previous script which are not affected by the edit are reused, so the time
+	 * taken is proportional to the size of the edit rather than the size of the script. The
+	 * previous script is left unchanged. Line indices of the edit refer to the lines of
+	 * {@link Script#compile()}.
+	 * </p>
+	 * <p>
+	 * The default implementation reparses the edited script in full.
+	 * </p>
+	 *
+	 * @param previous The script to edit
+	 * @param edit     The edit to apply
+	 * @return The edited script
+	 * @throws IllegalArgumentException If the edit exceeds the lines of the script
+	 * @throws SyntaxException          If the edited script contains syntax errors. All
+	 *                                  errors are reported, see {@link SyntaxException#getErrors()}
+	 */
+	@Contract(pure = true)
+	default @NotNull Script reparse(@NotNull Script previous, @NotNull Edit edit) throws SyntaxException {
+		try {
+			return parse(Source.fromString(edit.apply(previous.compile())));
+		} catch (IOException impossible) {
+			throw new UncheckedIOException(impossible);
+		}
+	}
+
+	/**
+	 * Parses the given source code into a bytecode-compiled script.
+	 * Equivalent to calling {@link Script#compileToBytecode()} on the
+	 * result of {@link #parse(Source)}.
+	 *
+	 * @param source The source to parse
+	 * @return The parsed and compiled script
+	 * @throws IOException     If an I/O error occurs while reading the source
+	 * @throws SyntaxException If the source contains syntax errors
+	 * @see Script#compileToBytecode()
+	 */
+	@Contract(pure = true)
+	default @NotNull Script parseCompiled(@NotNull Source source) throws IOException, SyntaxException {
+		return parse(source).compileToBytecode();
+	}
+
 	/**
 	 * Retrieves the singleton parser instance.
 	 *
@@ -3,10 +3,10 @@ package com.sniskus.helix.api.script;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.UncheckedIOException;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Represents a compiled script which can be executed.
@@ -25,18 +25,136 @@ public interface Script extends Runnable {
 
 	/**
 	 * Executes the script with the provided dictionary containing runtime variables.
+	 * <p>
+	 * This is a compatibility adapter over {@link #run(Frame)}: variables are copied into
+	 * a frame laid out by {@link #getLayout()} before execution and written back afterwards.
+	 * </p>
 	 *
 	 * @param dict The dictionary of variables available during execution
 	 */
 	void run(@NotNull Dictionary dict);
 
 	/**
-	 * Writes this script to an output stream.
+	 * Executes the script with the provided frame containing runtime variables.
+	 * Variables are accessed through their resolved slots, avoiding string lookups
+	 * and boxing of primitive values.
+	 *
+	 * @param frame The frame of variables available during execution
+	 * @throws IllegalArgumentException If the frame was not created from this script's layout
+	 */
+	void run(@NotNull Frame frame);
+
+	/**
+	 * Starts a time-sliced execution of the script with the provided dictionary.
+	 * The first slice runs immediately, see {@link Execution#resume()}.
+	 * <p>
+	 * The returned execution takes ownership of the dictionary. Like {@link #run(Dictionary)},
+	 * variables are copied into a frame before the first slice and written back once the script
+	 * has finished. The dictionary is then {@linkplain Dictionary#release() released}, as it is
+	 * if the script fails or the execution is {@linkplain Execution#cancel() cancelled}, so
+	 * callers must neither release it themselves nor use a pooled dictionary afterwards.
+	 * To read variables after execution, pass a dictionary which is not pooled.
+	 * </p>
+	 * <p>
+	 * The default implementation starts the script through {@link #start(Frame, Budget)}.
+	 * </p>
+	 *
+	 * @param dict   The dictionary of variables available during execution
+	 * @param budget The budget of each slice
+	 * @return The execution, which may have to be resumed if the budget is exceeded
+	 * @throws ScriptException If the first slice exceeds a budget with the
+	 *                         {@link Budget.OverrunPolicy#ABORT} policy
+	 */
+	default @NotNull Execution start(@NotNull Dictionary dict, @NotNull Budget budget) {
+		return DictionaryExecution.start(this, dict, budget);
+	}
+
+	/**
+	 * Starts a time-sliced execution of the script with the provided frame.
+	 * The first slice runs immediately, see {@link Execution#resume()}.
+	 *
+	 * @param frame  The frame of variables available during execution
+	 * @param budget The budget of each slice
+	 * @return The execution, which may have to be resumed if the budget is exceeded
+	 * @throws IllegalArgumentException If the frame was not created from this script's layout
+	 * @throws ScriptException          If the first slice exceeds a budget with the
+	 *                                  {@link Budget.OverrunPolicy#ABORT} policy
+	 */
+	@NotNull Execution start(@NotNull Frame frame, @NotNull Budget budget);
+
+	/**
+	 * Returns the variable slot layout assigned to this script by the {@link Parser}.
+	 *
+	 * @return The layout
+	 * @see Frame.Layout#newFrame()
+	 */
+	@Contract(pure = true)
+	@NotNull Frame.Layout getLayout();
+
+	/**
+	 * Returns a bytecode-compiled variant of this script.
+	 * <p>
+	 * The script body is emitted as a hidden class (see
+	 * {@link java.lang.invoke.MethodHandles.Lookup#defineHiddenClass(byte[], boolean, java.lang.invoke.MethodHandles.Lookup.ClassOption...)})
+	 * so that the JIT can inline it into the caller. The returned script behaves identically
+	 * to this one when run, which allows both modes to be compared side by side. The hidden
+	 * class is unloaded once the returned script is no longer reachable.
+	 * </p>
+	 * <p>
+	 * Calling this method on a script which is already compiled returns the script itself.
+	 * </p>
+	 *
+	 * @return The compiled script
+	 * @see #isBytecodeCompiled()
+	 * @see Parser#parseCompiled(Source)
+	 */
+	@Contract(pure = true)
+	@NotNull Script compileToBytecode();
+
+	/**
+	 * Checks whether this script runs from a generated hidden class
+	 * rather than by interpreting the parsed tree.
+	 *
+	 * @return {@code true} if this script is bytecode-compiled, {@code false} otherwise
+	 * @see #compileToBytecode()
+	 */
+	@Contract(pure = true)
+	boolean isBytecodeCompiled();
+
+	/**
+	 * Writes this script to a writer. The script is streamed
+	 * without building its full text in memory first.
+	 *
+	 * @param writer The writer to write to
+	 * @throws IOException If an I/O error occurs
+	 */
+	void write(@NotNull Writer writer) throws IOException;
+
+	/**
+	 * Writes this script to an output stream using UTF-8.
+	 * The stream is flushed but not closed.
 	 *
 	 * @param stream The stream to write to
 	 * @throws IOException If an I/O error occurs
 	 */
-	void write(@NotNull OutputStream stream) throws IOException;
+	default void write(@NotNull OutputStream stream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+		write(writer);
+		writer.flush();
+	}
+
+	/**
+	 * Writes this script to a channel using UTF-8.
+	 * The channel is not closed.
+	 *
+	 * @param channel The channel to write to
+	 * @throws IOException If an I/O error occurs
+	 */
+	default void write(@NotNull WritableByteChannel channel) throws IOException {
+		Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+		write(writer);
+		writer.flush();
+	}
 
 	/**
 	 * Compiles this script into a multi-line string.
@@ -44,13 +162,52 @@ public interface Script extends Runnable {
 	 * @return The compiled script
 	 */
 	default @NotNull String compile() {
-		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		StringWriter writer = new StringWriter();
 		try {
-			write(stream);
+			write(writer);
 		} catch (IOException impossible) {
 			throw new UncheckedIOException(impossible);
 		}
-		return stream.toString();
+		return writer.toString();
+	}
+
+	/**
+	 * Represents a time-sliced execution of a script.
+	 * <p>
+	 * Each slice runs until the script finishes or exceeds its {@link Budget}. If the budget
+	 * uses the {@link Budget.OverrunPolicy#DEFER} policy, the script is suspended at its next
+	 * yield point and can be continued later, usually in the next tick, by calling
+	 * {@link #resume()}. Executions are not thread-safe.
+	 * </p>
+	 *
+	 * @see Script#start(Dictionary, Budget)
+	 */
+	interface Execution {
+
+		/**
+		 * Runs the next slice of this execution with a fresh budget.
+		 *
+		 * @return {@code true} if the script has finished, {@code false} if it was suspended again
+		 * @throws IllegalStateException If the script has already finished
+		 * @throws ScriptException       If the slice exceeds a budget with the
+		 *                               {@link Budget.OverrunPolicy#ABORT} policy
+		 */
+		boolean resume();
+
+		/**
+		 * Checks whether the script has finished.
+		 *
+		 * @return {@code true} if the script has finished, {@code false} if it is suspended
+		 */
+		@Contract(pure = true)
+		boolean isDone();
+
+		/**
+		 * Stops this execution without running the rest of the script.
+		 * If the execution was started with a dictionary, the dictionary is released.
+		 */
+		void cancel();
+
 	}
 
 	/**
@@ -82,4 +239,20 @@ public interface Script extends Runnable {
 		return Parser.get().parse(source);
 	}
 
+	/**
+	 * Parses a script from the given file, reusing the cached parsed form if
+	 * the file has not changed. Unlike {@link #parse(Source)}, this writes the
+	 * parsed script to the cache on a miss.
+	 *
+	 * @param source The file containing the script code
+	 * @return The parsed script instance
+	 * @throws IOException     If an I/O error occurs while reading the source
+	 * @throws SyntaxException If the script contains syntax errors
+	 * @see Parser#parseCached(Source.ForFile)
+	 */
+	@Contract(value = "_, -> new")
+	static @NotNull Script parseCached(Source.@NotNull ForFile source) throws IOException, SyntaxException {
+		return Parser.get().parseCached(source);
+	}
+
 }
\ No newline at end of file
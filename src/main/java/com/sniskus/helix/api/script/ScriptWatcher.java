@@ -0,0 +1,323 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sniskus.helix.api.HelixApi;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches a script directory for changes and notifies a listener about every changed file.
+ * <p>
+ * Changes are debounced per file: a file is only reported once no further change to it has
+ * been observed for the configured delay, so editors which write a file multiple times
+ * trigger a single notification. Only files with the {@linkplain Parser#getFileExtension()
+ * script extension} are reported, like {@link Parser#parseAll(Path, java.util.concurrent.Executor)}
+ * parses them, so editor backups and other files are ignored. Newly created subdirectories are
+ * watched automatically, while hidden files and directories, such as the
+ * {@value Parser#CACHE_DIRECTORY} directory, are ignored. Deleted files are reported as well,
+ * in which case the path no longer exists. If a watched directory is deleted or moved away,
+ * every script file it contained is reported.
+ * </p>
+ * <p>
+ * If the file system drops events of a directory, for example during a burst of writes,
+ * the directory is scanned again and every script file inside it is reported.
+ * </p>
+ * <p>
+ * Listeners are invoked sequentially on a dedicated daemon thread.
+ * </p>
+ *
+ * @see HelixApi#reload(Source.ForFile)
+ */
+public final class ScriptWatcher implements Closeable {
+	private final Path root;
+	private final String extension;
+	private final long debounceNanos;
+	private final Listener listener;
+	private final BiConsumer<? super Source.ForFile, ? super Exception> errorHandler;
+	private final WatchService service;
+	private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+	private final Set<Path> files = ConcurrentHashMap.newKeySet();
+	private final Map<Path, Pending> pending = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler;
+	private volatile boolean closed;
+
+	private ScriptWatcher(
+			@NotNull Path root,
+			@NotNull String extension,
+			@NotNull Duration debounce,
+			@NotNull Listener listener,
+			@NotNull BiConsumer<? super Source.ForFile, ? super Exception> errorHandler) throws IOException {
+		Preconditions.checkArgument(!debounce.isNegative(), "Debounce must be non-negative");
+		this.root = Preconditions.checkNotNull(root);
+		this.extension = Preconditions.checkNotNull(extension);
+		this.debounceNanos = debounce.toNanos();
+		this.listener = Preconditions.checkNotNull(listener);
+		this.errorHandler = Preconditions.checkNotNull(errorHandler);
+		this.service = root.getFileSystem().newWatchService();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("Helix Script Reloader")
+				.setDaemon(true)
+				.build());
+		try {
+			watch(root, true);
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates and starts a new watcher for files with the {@linkplain Parser#getFileExtension()
+	 * script extension} of the {@linkplain Parser#get() current parser}.
+	 *
+	 * @param root         The directory to watch recursively
+	 * @param debounce     The delay after the last change to a file before it is reported
+	 * @param listener     The listener to notify about changed files
+	 * @param errorHandler The handler for exceptions thrown by the listener
+	 * @return A new, running watcher
+	 * @throws IOException              If the directory cannot be watched
+	 * @throws IllegalArgumentException If {@code debounce} is negative
+	 */
+	@Contract("_, _, _, _ -> new")
+	public static @NotNull ScriptWatcher start(
+			@NotNull Path root,
+			@NotNull Duration debounce,
+			@NotNull Listener listener,
+			@NotNull BiConsumer<? super Source.ForFile, ? super Exception> errorHandler) throws IOException {
+		ScriptWatcher watcher = new ScriptWatcher(root, Parser.get().getFileExtension(), debounce, listener, errorHandler);
+		new ThreadFactoryBuilder()
+				.setNameFormat("Helix Script Watcher")
+				.setDaemon(true)
+				.build()
+				.newThread(watcher::poll)
+				.start();
+		return watcher;
+	}
+
+	/**
+	 * Creates a watcher for the {@linkplain HelixApi#getScriptRoot() script root}
+	 * which reloads every changed file through {@link HelixApi#reload(Source.ForFile)}.
+	 *
+	 * @param debounce     The delay after the last change to a file before it is reloaded
+	 * @param errorHandler The handler for errors which occur while reloading
+	 * @return A new, running watcher
+	 * @throws IOException If the script root cannot be watched
+	 */
+	@Contract("_, _ -> new")
+	public static @NotNull ScriptWatcher forScriptRoot(
+			@NotNull Duration debounce,
+			@NotNull BiConsumer<? super Source.ForFile, ? super Exception> errorHandler) throws IOException {
+		HelixApi api = HelixApi.getApi();
+		return start(api.getScriptRoot(), debounce, api::reload, errorHandler);
+	}
+
+	/**
+	 * Returns the directory watched by this watcher.
+	 *
+	 * @return The watched directory
+	 */
+	@Contract(pure = true)
+	public @NotNull Path getRoot() {
+		return root;
+	}
+
+	/**
+	 * Stops watching and discards any pending notifications.
+	 *
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		scheduler.shutdownNow();
+		service.close();
+	}
+
+	/**
+	 * Registers a directory and its subdirectories.
+	 *
+	 * @param start   The directory
+	 * @param initial Whether the directory is the root being registered initially, whose
+	 *                files are tracked without being reported
+	 */
+	private void watch(@NotNull Path start, boolean initial) throws IOException {
+		Files.walkFileTree(start, new SimpleFileVisitor<>() {
+
+			@Override
+			public @NotNull FileVisitResult preVisitDirectory(@NotNull Path dir, @NotNull BasicFileAttributes attrs) throws IOException {
+				if (!dir.equals(root) && isHidden(dir)) return FileVisitResult.SKIP_SUBTREE;
+				directories.put(dir.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public @NotNull FileVisitResult visitFile(@NotNull Path file, @NotNull BasicFileAttributes attrs) {
+				if (!attrs.isRegularFile() || !isScript(file)) return FileVisitResult.CONTINUE;
+				// Files may have been written before the directory was registered
+				if (initial) files.add(file);
+				else schedule(file);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private void poll() {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				Path dir = directories.get(key);
+				boolean overflow = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (dir == null) continue;
+					if (event.kind() == OVERFLOW) {
+						overflow = true;
+						continue;
+					}
+					Path path = dir.resolve((Path) event.context());
+					if (isHidden(path)) continue;
+					if (event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+						rescan(path);
+					} else if (event.kind() == ENTRY_DELETE) {
+						deleted(path);
+					} else if (isScript(path) && !Files.isDirectory(path)) {
+						schedule(path);
+					}
+				}
+				if (overflow) overflowed(dir);
+				if (!key.reset()) directories.remove(key);
+			}
+		} catch (InterruptedException | ClosedWatchServiceException ignored) {
+			// Watcher closed
+		}
+	}
+
+	/**
+	 * Registers a new or changed directory and reports every script file inside it.
+	 */
+	private void rescan(@NotNull Path dir) {
+		try {
+			watch(dir, false);
+		} catch (NoSuchFileException e) {
+			// Deleted again, which is reported through its parent
+		} catch (IOException e) {
+			errorHandler.accept(Source.fromPath(dir), e);
+		}
+	}
+
+	/**
+	 * Reports every script file inside a directory whose events have been lost, including
+	 * known files which have been deleted in the meantime.
+	 */
+	private void overflowed(@NotNull Path dir) {
+		for (Path file : files) {
+			if (file.startsWith(dir) && !Files.exists(file, LinkOption.NOFOLLOW_LINKS)) schedule(file);
+		}
+		rescan(dir);
+	}
+
+	/**
+	 * Reports the deleted file, or every known file inside the deleted directory.
+	 */
+	private void deleted(@NotNull Path path) {
+		directories.entrySet().removeIf(entry -> {
+			if (!entry.getValue().startsWith(path)) return false;
+			entry.getKey().cancel();
+			return true;
+		});
+		boolean known = false;
+		for (Path file : files) {
+			if (file.startsWith(path)) {
+				schedule(file);
+				known = true;
+			}
+		}
+		if (!known && isScript(path)) schedule(path);
+	}
+
+	private void schedule(@NotNull Path path) {
+		if (closed) return;
+		files.add(path);
+		try {
+			pending.compute(path, (p, previous) -> {
+				if (previous != null) previous.future.cancel(false);
+				Pending next = new Pending(p);
+				next.future = scheduler.schedule(next, debounceNanos, TimeUnit.NANOSECONDS);
+				return next;
+			});
+		} catch (RejectedExecutionException e) {
+			// Watcher closed concurrently
+		}
+	}
+
+	private void report(@NotNull Path path) {
+		if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) files.remove(path);
+		Source.ForFile source = Source.fromPath(path);
+		try {
+			listener.onChange(source);
+		} catch (Exception e) {
+			errorHandler.accept(source, e);
+		}
+	}
+
+	private boolean isScript(@NotNull Path path) {
+		return !isHidden(path) && path.getFileName().toString().endsWith(extension);
+	}
+
+	private static boolean isHidden(@NotNull Path path) {
+		Path name = path.getFileName();
+		return name != null && name.toString().startsWith(".");
+	}
+
+	/**
+	 * A scheduled notification, which is only delivered if it has not been superseded.
+	 */
+	private final class Pending implements Runnable {
+		private final Path path;
+		private ScheduledFuture<?> future;
+
+		private Pending(@NotNull Path path) {
+			this.path = path;
+		}
+
+		@Override
+		public void run() {
+			if (pending.remove(path, this)) report(path);
+		}
+	}
+
+	/**
+	 * Listener notified about changed script files.
+	 */
+	@FunctionalInterface
+	public interface Listener {
+
+		/**
+		 * Called once a file has changed and no further changes were observed during the debounce delay.
+		 *
+		 * @param source The changed file, which may no longer exist if it was deleted
+		 * @throws IOException     If an I/O error occurs while handling the change
+		 * @throws SyntaxException If the file contains syntax errors
+		 */
+		void onChange(Source.@NotNull ForFile source) throws IOException, SyntaxException;
+
+	}
+
+}
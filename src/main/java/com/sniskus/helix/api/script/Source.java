@@ -1,17 +1,37 @@
 package com.sniskus.helix.api.script;
 
 import com.google.common.base.Preconditions;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.sniskus.helix.api.HelixApi;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Represents a source of script with a name and provides
- * a way to access the underlying content as an {@link InputStream}.
+ * a way to access the underlying content as an {@link InputStream},
+ * a {@link ByteBuffer} or a {@link CharSequence}.
  */
 public interface Source {
 
@@ -36,6 +56,49 @@ public interface Source {
 	@Contract("-> new")
 	@NotNull InputStream read() throws IOException;
 
+	/**
+	 * Computes the SHA-256 hash of the content of this source.
+	 *
+	 * @return The content hash
+	 * @throws IOException if the source cannot be read
+	 * @see Parser#parseCached(ForFile)
+	 */
+	default @NotNull HashCode hash() throws IOException {
+		return Hashing.sha256().hashBytes(bytes());
+	}
+
+	/**
+	 * Returns the UTF-8 encoded content of this source as a read-only buffer.
+	 * <p>
+	 * Implementations avoid copying where possible; file sources are read in a single call
+	 * without an intermediate stream. Each call to this method returns a new buffer.
+	 * </p>
+	 *
+	 * @return a new read-only buffer of the content
+	 * @throws IOException if the source cannot be read
+	 */
+	@Contract("-> new")
+	default @NotNull ByteBuffer bytes() throws IOException {
+		try (InputStream stream = read()) {
+			return ByteBuffer.wrap(stream.readAllBytes()).asReadOnlyBuffer();
+		}
+	}
+
+	/**
+	 * Returns the content of this source as a character sequence.
+	 * This is the representation lexed by the {@link Parser}.
+	 * <p>
+	 * In-memory sources return their string directly, while other sources decode
+	 * {@link #bytes()} without going through an intermediate stream.
+	 * </p>
+	 *
+	 * @return the content
+	 * @throws IOException if the source cannot be read
+	 */
+	default @NotNull CharSequence content() throws IOException {
+		return StandardCharsets.UTF_8.decode(bytes());
+	}
+
 	interface Writable extends Source {
 
 		/**
@@ -50,6 +113,47 @@ public interface Source {
 		@Contract("-> new")
 		@NotNull OutputStream write() throws IOException;
 
+		/**
+		 * Writes a script to this source.
+		 *
+		 * @param script the script to write
+		 * @return {@code true} if the source was written, {@code false} if it
+		 * already contained the script and was left untouched
+		 * @throws IOException if the source cannot be written
+		 */
+		default boolean save(@NotNull Script script) throws IOException {
+			try (OutputStream stream = write()) {
+				script.write(stream);
+			}
+			return true;
+		}
+
+		/**
+		 * Saves multiple scripts concurrently. Sources which already contain
+		 * their script are left untouched.
+		 *
+		 * @param scripts  the scripts to save, keyed by the source to save them to
+		 * @param executor the executor to save on
+		 * @return a future completed with the sources which were written, or completed
+		 * exceptionally if any source could not be written
+		 * @see #save(Script)
+		 */
+		static @NotNull CompletableFuture<Set<Writable>> saveAll(
+				@NotNull Map<? extends Writable, ? extends Script> scripts,
+				@NotNull Executor executor) {
+			Set<Writable> written = ConcurrentHashMap.newKeySet();
+			CompletableFuture<?>[] futures = scripts.entrySet().stream()
+					.map(entry -> CompletableFuture.runAsync(() -> {
+						try {
+							if (entry.getKey().save(entry.getValue())) written.add(entry.getKey());
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					}, executor))
+					.toArray(CompletableFuture[]::new);
+			return CompletableFuture.allOf(futures).thenApply(ignored -> Collections.unmodifiableSet(written));
+		}
+
 	}
 
 	/**
@@ -84,7 +188,17 @@ public interface Source {
 
 			@Override
 			public @NotNull InputStream read() {
-				return new ByteArrayInputStream(code.getBytes());
+				return new ByteArrayInputStream(code.getBytes(StandardCharsets.UTF_8));
+			}
+
+			@Override
+			public @NotNull ByteBuffer bytes() {
+				return ByteBuffer.wrap(code.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+			}
+
+			@Override
+			public @NotNull CharSequence content() {
+				return code;
 			}
 		};
 	}
@@ -93,9 +207,18 @@ public interface Source {
 
 		@NotNull Path getPath();
 
+		/**
+		 * Returns the path of this file relative to the
+		 * {@linkplain HelixApi#getScriptRoot() script root}, or its absolute
+		 * path if the file is located outside the script root.
+		 *
+		 * @return the source name
+		 */
 		@Override
 		default @NotNull String name() {
-			return HelixApi.getApi().getScriptRoot().relativize(this.getPath()).toString();
+			Path root = HelixApi.getApi().getScriptRoot().toAbsolutePath().normalize();
+			Path path = this.getPath().toAbsolutePath().normalize();
+			return path.startsWith(root) ? root.relativize(path).toString() : path.toString();
 		}
 
 		@Override
@@ -103,11 +226,90 @@ public interface Source {
 			return Files.newInputStream(this.getPath());
 		}
 
+		/**
+		 * Reads the content of this file into a heap buffer. The file is
+		 * closed before this method returns.
+		 *
+		 * @return a new read-only buffer of the content
+		 * @throws IOException if the file cannot be read
+		 * @see #map()
+		 */
+		@Override
+		default @NotNull ByteBuffer bytes() throws IOException {
+			return ByteBuffer.wrap(Files.readAllBytes(this.getPath())).asReadOnlyBuffer();
+		}
+
+		/**
+		 * Maps the content of this file into memory without copying it.
+		 * <p>
+		 * This is intended for files too large to be read into the heap. A mapping stays valid
+		 * until the buffer is garbage collected, and on some platforms, notably Windows, the file
+		 * cannot be replaced or deleted until then. Script-sized files should be read through
+		 * {@link #bytes()} instead.
+		 * </p>
+		 *
+		 * @return a new read-only buffer mapping the content
+		 * @throws IOException if the file cannot be read
+		 */
+		@Contract("-> new")
+		default @NotNull MappedByteBuffer map() throws IOException {
+			try (FileChannel channel = FileChannel.open(this.getPath(), StandardOpenOption.READ)) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+		}
+
 		@Override
 		default @NotNull OutputStream write() throws IOException {
 			return Files.newOutputStream(this.getPath());
 		}
 
+		/**
+		 * Writes a script to this file, unless the file already contains it.
+		 * <p>
+		 * The script is streamed twice: once into a hash to compare it against the current
+		 * content, and once into a hidden temporary file which then atomically replaces
+		 * this file. The serialized script is never held in memory as a whole.
+		 * </p>
+		 * <p>
+		 * If this file is a symbolic link, the file it points to is replaced and the link is
+		 * kept. The permissions, owner and group of the replaced file are carried over on
+		 * file systems supporting POSIX attributes.
+		 * </p>
+		 *
+		 * @param script the script to write
+		 * @return {@code true} if the file was written, {@code false} if it
+		 * already contained the script and was left untouched
+		 * @throws IOException if the file cannot be written, or its owner cannot be carried over
+		 */
+		@Override
+		default boolean save(@NotNull Script script) throws IOException {
+			Path path = this.getPath();
+			boolean exists = Files.exists(path);
+			if (exists) path = path.toRealPath();
+			Hasher hasher = Hashing.sha256().newHasher();
+			script.write(Funnels.asOutputStream(hasher));
+			if (exists && Files.isRegularFile(path) && hasher.hash().equals(hash())) return false;
+			Path temp = path.toAbsolutePath().resolveSibling("." + path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+			try {
+				try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+					script.write(channel);
+				}
+				PosixFileAttributeView original = Files.getFileAttributeView(path, PosixFileAttributeView.class);
+				if (exists && original != null) {
+					PosixFileAttributes attributes = original.readAttributes();
+					PosixFileAttributeView copy = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+					PosixFileAttributes current = copy.readAttributes();
+					copy.setPermissions(attributes.permissions());
+					if (!current.owner().equals(attributes.owner())) copy.setOwner(attributes.owner());
+					if (!current.group().equals(attributes.group())) copy.setGroup(attributes.group());
+				}
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			return true;
+		}
+
 	}
 
 	/**
@@ -4,12 +4,21 @@ import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Exception thrown when an error occurs during script parsing.
  * <p>
  * This exception provides details about the specific line where the parsing
  * error occurred, including the line content and its index.
  * </p>
+ * <p>
+ * If a source contains multiple errors, the parser throws the first one and
+ * attaches the others as {@linkplain #addSuppressed(Throwable) suppressed} exceptions,
+ * which can be retrieved using {@link #getErrors()}.
+ * </p>
  */
 public final class SyntaxException extends Exception {
 	private final String line;
@@ -64,4 +73,19 @@ public final class SyntaxException extends Exception {
 	 */
 	public int getLineIndex() { return lineIndex; }
 
+	/**
+	 * Returns this error followed by all further syntax errors found in the same source.
+	 *
+	 * @return An immutable list of errors, ordered by line
+	 */
+	public @NotNull List<SyntaxException> getErrors() {
+		List<SyntaxException> errors = new ArrayList<>();
+		errors.add(this);
+		for (Throwable suppressed : getSuppressed()) {
+			if (suppressed instanceof SyntaxException error) errors.add(error);
+		}
+		errors.sort(Comparator.comparingInt(SyntaxException::getLineIndex));
+		return List.copyOf(errors);
+	}
+
 }
@@ -0,0 +1,62 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.collect.ForwardingMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A read-only view of a dictionary. The view does not own the dictionary,
+ * so releasing it has no effect.
+ *
+ * @see Dictionary#unmodifiable(Dictionary)
+ */
+final class UnmodifiableDictionary extends ForwardingMap<String, Object> implements Dictionary {
+	private final Dictionary dict;
+	private final Map<String, Object> view;
+
+	UnmodifiableDictionary(@NotNull Dictionary dict) {
+		this.dict = dict;
+		this.view = Collections.unmodifiableMap(dict);
+	}
+
+	@Override
+	protected @NotNull Map<String, Object> delegate() {
+		return view;
+	}
+
+	@Override
+	public void putLong(@NotNull String key, long value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public long getLong(@NotNull String key, long fallback) {
+		return dict.getLong(key, fallback);
+	}
+
+	@Override
+	public void putDouble(@NotNull String key, double value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public double getDouble(@NotNull String key, double fallback) {
+		return dict.getDouble(key, fallback);
+	}
+
+	@Override
+	public void putBoolean(@NotNull String key, boolean value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean getBoolean(@NotNull String key, boolean fallback) {
+		return dict.getBoolean(key, fallback);
+	}
+
+	@Override
+	public void release() { }
+
+}
@@ -0,0 +1,44 @@
+package com.sniskus.helix.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifiersTest {
+	private static final Pattern PATTERN = Pattern.compile(Identifier.PATTERN);
+
+	@Test
+	void acceptsIdentifiers() {
+		for (String input : List.of("a", "_", "$", "player", "Player2", "$value", "_1", "größe", "имя", "名前", "𝐀bc")) {
+			assertTrue(Identifiers.isValid(input), input);
+		}
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		for (String input : List.of("", "1a", "a-b", "a b", "a.b", "a\n", "\n", "a²", "a٣", "\uD835")) {
+			assertFalse(Identifiers.isValid(input), input);
+		}
+		assertFalse(Identifiers.isValid(null));
+		assertThrows(IllegalArgumentException.class, () -> Identifiers.check("1a"));
+		assertEquals("a1", Identifiers.check("a1"));
+	}
+
+	@Test
+	void matchesPatternForEveryCodePoint() {
+		StringBuilder first = new StringBuilder();
+		StringBuilder following = new StringBuilder("a");
+		for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+			first.setLength(0);
+			following.setLength(1);
+			first.appendCodePoint(codePoint);
+			following.appendCodePoint(codePoint);
+			assertEquals(PATTERN.matcher(first).matches(), Identifiers.isValid(first), first::toString);
+			assertEquals(PATTERN.matcher(following).matches(), Identifiers.isValid(following), following::toString);
+		}
+	}
+
+}
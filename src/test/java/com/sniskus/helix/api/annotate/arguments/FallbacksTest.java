@@ -0,0 +1,124 @@
+package com.sniskus.helix.api.annotate.arguments;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FallbacksTest {
+
+	@SuppressWarnings("unused")
+	private static void fallbacks(
+			@Optional.Integer(3) int integer,
+			@Optional.Integer(4) Short boxed,
+			@Optional.Integer(5) double widened,
+			@Optional.Integer(6) Float widenedBoxed,
+			@Optional.Integer(7) Number number,
+			@Optional.Integer(8) long wide,
+			@Optional.Floating(1.5) float single,
+			@Optional.Floating(2.5) Object object,
+			@Optional.Boolean(true) boolean flag,
+			@Optional.Character('x') Character letter,
+			@Optional.String("text") CharSequence text,
+			@Optional.Empty String[] array,
+			@Optional.Empty Iterable<?> iterable,
+			@Optional.Empty Map<?, ?> map,
+			@Optional.Enum("SECONDS") TimeUnit unit,
+			@Optional.Duration("1m30s") Duration duration,
+			@Optional.Null String none) { }
+
+	@SuppressWarnings("unused")
+	private static void invalid(
+			@Optional.Integer(1) String string,
+			@Optional.Integer(1) char letter,
+			@Optional.Integer(300) byte overflow,
+			@Optional.Floating(1) int integer,
+			@Optional.Floating(1) Long boxed,
+			@Optional.Boolean(true) int flag,
+			@Optional.Character('a') String text,
+			@Optional.String("a") int number,
+			@Optional.Empty java.util.ArrayList<?> concrete,
+			@Optional.Empty String empty,
+			@Optional.Enum("WEEKS") TimeUnit unit,
+			@Optional.Duration("5s") long duration,
+			@Optional.Null int none) { }
+
+	@SuppressWarnings("unused")
+	private static void multiple(@Optional.Null @Optional.Empty List<?> list, String required) { }
+
+	private static Method method(String name) {
+		return Arrays.stream(FallbacksTest.class.getDeclaredMethods())
+				.filter(method -> method.getName().equals(name))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static Object resolve(java.lang.reflect.Parameter parameter) {
+		Annotation optional = Fallbacks.find(parameter);
+		assertNotNull(optional, parameter::toString);
+		return Fallbacks.resolve(optional, parameter.getType());
+	}
+
+	@Test
+	void resolvesFallbacksForParameterTypes() {
+		List<Object> fallbacks = Arrays.stream(method("fallbacks").getParameters()).map(FallbacksTest::resolve).toList();
+		assertEquals(3, fallbacks.get(0));
+		assertEquals((short) 4, fallbacks.get(1));
+		assertEquals(5.0, fallbacks.get(2));
+		assertEquals(6.0f, fallbacks.get(3));
+		assertEquals(7L, fallbacks.get(4));
+		assertEquals(8L, fallbacks.get(5));
+		assertEquals(1.5f, fallbacks.get(6));
+		assertEquals(2.5, fallbacks.get(7));
+		assertEquals(true, fallbacks.get(8));
+		assertEquals('x', fallbacks.get(9));
+		assertEquals("text", fallbacks.get(10));
+		assertArrayEquals(new String[0], (String[]) fallbacks.get(11));
+		assertEquals(List.of(), fallbacks.get(12));
+		assertEquals(Map.of(), fallbacks.get(13));
+		assertEquals(TimeUnit.SECONDS, fallbacks.get(14));
+		assertEquals(Duration.ofSeconds(90), fallbacks.get(15));
+		assertNull(fallbacks.get(16));
+	}
+
+	@Test
+	void rejectsInapplicableFallbacks() {
+		for (java.lang.reflect.Parameter parameter : method("invalid").getParameters()) {
+			assertThrows(IllegalArgumentException.class, () -> resolve(parameter), parameter::toString);
+		}
+	}
+
+	@Test
+	void findsSingleOptionalAnnotation() {
+		java.lang.reflect.Parameter[] parameters = method("multiple").getParameters();
+		assertThrows(IllegalArgumentException.class, () -> Fallbacks.find(parameters[0]));
+		assertNull(Fallbacks.find(parameters[1]));
+	}
+
+	@Test
+	void parsesDurations() {
+		assertEquals(Duration.ofSeconds(10), Fallbacks.parseDuration("10s"));
+		assertEquals(Duration.ofSeconds(90), Fallbacks.parseDuration("1m30s"));
+		assertEquals(Duration.ofMillis(1500), Fallbacks.parseDuration("1.5s"));
+		assertEquals(Duration.ofMillis(250), Fallbacks.parseDuration("5t"));
+		assertEquals(Duration.ofMillis(20), Fallbacks.parseDuration("20ms"));
+		assertEquals(Duration.ofDays(1).plusHours(2), Fallbacks.parseDuration("1d2h"));
+		assertEquals(Duration.ofNanos(1), Fallbacks.parseDuration("0.0000005ms"));
+		assertEquals(Duration.ZERO, Fallbacks.parseDuration("0s"));
+	}
+
+	@Test
+	void rejectsInvalidDurations() {
+		for (String input : List.of("", "s", "10", "10y", "1..5s", "1.5.s", "-5s", "5 s", "99999999999999999999d")) {
+			assertThrows(IllegalArgumentException.class, () -> Fallbacks.parseDuration(input), input);
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.sniskus.helix.api.annotate.arguments;
+
+import com.sniskus.helix.api.script.ScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternsTest {
+
+	@Test
+	void sharesCompiledPatterns() {
+		java.util.regex.Pattern pattern = Patterns.compile("[a-z]+");
+		assertSame(pattern, Patterns.compile("[a-z]+"));
+		assertSame(pattern, Patterns.compile(new String("[a-z]+")));
+		assertNotSame(pattern, Patterns.compile("[a-z]*"));
+	}
+
+	@Test
+	void rejectsInvalidPatterns() {
+		assertThrows(PatternSyntaxException.class, () -> Patterns.compile("[a-z"));
+		assertThrows(PatternSyntaxException.class, () -> Patterns.compile("[a-z"));
+	}
+
+	@Test
+	void matchesWholeInputOrFinds() {
+		java.util.regex.Pattern pattern = Patterns.compile("(\\d+)s");
+		Matcher matcher = Patterns.match(pattern, false, "10s");
+		assertEquals("10", matcher.group(1));
+		assertEquals("5", Patterns.match(pattern, true, "after 5s").group(1));
+		ScriptException exception = assertThrows(ScriptException.class, () -> Patterns.match(pattern, false, "after 5s"));
+		assertTrue(exception.getMessage().contains("(\\d+)s"));
+	}
+
+	@Test
+	void matchesConstantsOnce() {
+		java.util.regex.Pattern pattern = Patterns.compile("(\\d+)s");
+		MatchResult result = Patterns.matchConstant(pattern, false, "10s");
+		assertNotNull(result);
+		assertEquals("10", result.group(1));
+		assertFalse(result instanceof Matcher);
+		assertNull(Patterns.matchConstant(pattern, false, "10m"));
+		assertNotNull(Patterns.matchConstant(pattern, true, "in 10s"));
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.sniskus.helix.api.implementation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingTableTest {
+
+	@Test
+	void findsTablesRegisteredAsServices() {
+		BindingTable table = BindingTable.find(TableMethods.class);
+		assertInstanceOf(TableMethods_HelixBindings.class, table);
+		assertSame(table, BindingTable.find(TableMethods.class));
+		MethodInvoker twice = MethodInvoker.of(new TableMethods(), table.getBindings().get(0));
+		assertEquals(4, twice.invoke(null, 2));
+	}
+
+	@Test
+	void classesWithoutTablesAreNotFound() {
+		assertNull(BindingTable.find(MethodInvokerTest.Methods.class));
+		assertNull(BindingTable.find(String.class));
+	}
+
+}
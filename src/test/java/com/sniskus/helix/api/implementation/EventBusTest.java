@@ -0,0 +1,59 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.implementation.RecordingEventBus.Post;
+import com.sniskus.helix.api.script.TestHelixApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+	private final RecordingEventBus bus = TestHelixApi.get().getEventBus();
+	private final Trigger<String> trigger = new Trigger<>(String.class) { };
+
+	@BeforeEach
+	void reset() {
+		bus.reset(CompletableFuture.completedFuture(null));
+	}
+
+	@Test
+	void postAllPostsEachValueInOrder() {
+		bus.postAll(trigger, List.of("a", "b", "c"));
+		assertEquals(List.of(
+				new Post(trigger, "a", false),
+				new Post(trigger, "b", false),
+				new Post(trigger, "c", false)), bus.posts());
+	}
+
+	@Test
+	void postAllArrayDelegatesToList() {
+		bus.postAll(trigger, new String[] {"a", "b"});
+		assertEquals(List.of(new Post(trigger, "a", false), new Post(trigger, "b", false)), bus.posts());
+	}
+
+	@Test
+	void postAllWithoutValuesPostsNothing() {
+		bus.postAll(trigger, List.of());
+		assertTrue(bus.posts().isEmpty());
+	}
+
+	@Test
+	void callAllDelegatesToApiEventBus() {
+		trigger.callAll(List.of("a", "b"));
+		trigger.callAll(new String[] { "c" });
+		assertEquals(List.of(
+				new Post(trigger, "a", false),
+				new Post(trigger, "b", false),
+				new Post(trigger, "c", false)), bus.posts());
+	}
+
+	@Test
+	void callDelegatesToApiEventBus() {
+		trigger.call("a");
+		assertEquals(List.of(new Post(trigger, "a", false)), bus.posts());
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.implementation.RecordingEventBus.Post;
+import com.sniskus.helix.api.script.Dictionary;
+import com.sniskus.helix.api.script.TestHelixApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionPolicyTest {
+	private final RecordingEventBus bus = TestHelixApi.get().getEventBus();
+	private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+	@BeforeEach
+	void reset() {
+		bus.reset(result);
+	}
+
+	@Test
+	void callAsyncReturnsFutureOfEventBus() {
+		Trigger<String> trigger = new Trigger<>(String.class) { };
+		CompletableFuture<Void> future = trigger.callAsync("a");
+		assertSame(result, future);
+		assertEquals(List.of(new Post(trigger, "a", true)), bus.posts());
+		assertFalse(future.isDone());
+		result.completeExceptionally(new IllegalStateException("listener failed"));
+		CompletionException e = assertThrows(CompletionException.class, future::join);
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+	}
+
+	@Test
+	void simpleCallAsyncPostsNull() {
+		Trigger.Simple trigger = new Trigger.Simple() { };
+		trigger.callAsync();
+		trigger.call();
+		assertEquals(List.of(new Post(trigger, null, true), new Post(trigger, null, false)), bus.posts());
+	}
+
+	@Test
+	void registrationDefaultsToSync() {
+		List<ExecutionPolicy> policies = new ArrayList<>();
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+			policies.add((ExecutionPolicy) args[args.length - 2]);
+			assertEquals(ListenerOptions.DEFAULT, args[args.length - 1]);
+			return proxy;
+		};
+		Namespace namespace = (Namespace) Proxy.newProxyInstance(
+				Namespace.class.getClassLoader(), new Class<?>[] {Namespace.class}, handler);
+
+		BiPredicate<String, Dictionary> predicate = (value, dict) -> true;
+		Predicate<String> filter = value -> true;
+		BiConsumer<String, Dictionary> populator = (value, dict) -> { };
+		assertSame(namespace, namespace.trigger("a", String.class, predicate));
+		assertSame(namespace, namespace.trigger("b", String.class, filter, populator));
+		assertSame(namespace, namespace.trigger("c", Simple.class));
+		assertEquals(List.of(ExecutionPolicy.SYNC, ExecutionPolicy.SYNC, ExecutionPolicy.SYNC), policies);
+	}
+
+	public static final class Simple extends Trigger.Simple {
+		public Simple() { }
+	}
+
+}
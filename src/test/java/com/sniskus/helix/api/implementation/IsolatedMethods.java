@@ -0,0 +1,45 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.annotate.methods.Extension;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Static methods which {@link MethodInvokerTest} loads through a separate class loader.
+ */
+public class IsolatedMethods implements StaticMethods {
+
+	public static MethodHandles.Lookup lookup() {
+		return MethodHandles.lookup();
+	}
+
+	public String greet(String name) {
+		return "Hello, " + name;
+	}
+
+	public void ignore(Object value, int times) { }
+
+	public int sum(int a, int b, int c, int d) {
+		return a + b + c + d;
+	}
+
+	/**
+	 * Instance methods which {@link MethodInvokerTest} loads through a separate class loader.
+	 */
+	public static class Builders extends InstanceMethods<StringBuilder> {
+
+		public Builders(StringBuilder delegate) {
+			super(delegate);
+		}
+
+		public int size() {
+			return delegate.length();
+		}
+
+		@Extension
+		public static String reversed(StringBuilder self) {
+			return new StringBuilder(self).reverse().toString();
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.sniskus.helix.api.implementation;
+
+import org.bukkit.event.EventPriority;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListenerIndexTest {
+	private final ListenerIndex<Listener> index = new ListenerIndex<>(Listener[]::new);
+
+	private record Listener(String name) { }
+
+	@Test
+	void resolvesListenersOfSupertypes() {
+		Listener strings = new Listener("strings"), objects = new Listener("objects"), serializables = new Listener("serializables");
+		index.register(String.class, strings);
+		index.register(Object.class, objects);
+		index.register(Serializable.class, serializables);
+		assertEquals(List.of(strings, objects, serializables), List.of(index.resolve(String.class)));
+		assertEquals(List.of(objects, serializables), List.of(index.resolve(Integer.class)));
+		assertEquals(List.of(objects), List.of(index.resolve(Thread.class)));
+	}
+
+	@Test
+	void ordersByPriorityThenRegistration() {
+		Listener first = new Listener("first"), second = new Listener("second"), low = new Listener("low"), high = new Listener("high");
+		index.register(Object.class, first);
+		index.register(Object.class, high, EventPriority.HIGH);
+		index.register(Object.class, second);
+		index.register(Object.class, low, EventPriority.LOWEST);
+		assertEquals(List.of(low, first, second, high), List.of(index.resolve(Object.class)));
+	}
+
+	@Test
+	void resolvesMonitorsSeparately() {
+		Listener monitor = new Listener("monitor"), listener = new Listener("listener");
+		index.register(Object.class, monitor, EventPriority.MONITOR);
+		index.register(Object.class, listener, EventPriority.HIGHEST);
+		assertEquals(List.of(listener), List.of(index.resolve(Object.class)));
+		assertEquals(List.of(monitor), List.of(index.resolveMonitors(Object.class)));
+	}
+
+	@Test
+	void resolvesIgnoreCancelledFlags() {
+		Listener normal = new Listener("normal"), ignoring = new Listener("ignoring"), monitor = new Listener("monitor");
+		index.register(Object.class, monitor, ListenerOptions.of(EventPriority.MONITOR).withIgnoreCancelled(true));
+		index.register(Object.class, ignoring, ListenerOptions.DEFAULT.withIgnoreCancelled(true));
+		index.register(Object.class, normal);
+		Resolved<Listener> resolved = index.resolveAll(String.class);
+		assertEquals(List.of(ignoring, normal), List.of(resolved.listeners()));
+		assertArrayEquals(new boolean[] {true, false}, resolved.ignoreCancelled());
+		assertEquals(List.of(monitor), List.of(resolved.monitors()));
+		assertArrayEquals(new boolean[] {true}, resolved.monitorsIgnoreCancelled());
+		assertSame(index.resolve(String.class), resolved.listeners());
+	}
+
+	@Test
+	void registrationsInvalidateResolvedListeners() {
+		Listener first = new Listener("first"), second = new Listener("second");
+		index.register(CharSequence.class, first);
+		assertEquals(List.of(first), List.of(index.resolve(String.class)));
+		index.register(String.class, second);
+		assertEquals(List.of(first, second), List.of(index.resolve(String.class)));
+		assertTrue(index.unregister(CharSequence.class, first));
+		assertEquals(List.of(second), List.of(index.resolve(String.class)));
+	}
+
+	@Test
+	void unregistersOneMatchingRegistration() {
+		Listener listener = new Listener("listener");
+		index.register(Object.class, listener);
+		index.register(Object.class, listener);
+		index.register(String.class, listener);
+		assertFalse(index.unregister(Integer.class, listener));
+		assertFalse(index.unregister(Object.class, new Listener("listener")));
+		assertTrue(index.unregister(Object.class, listener));
+		assertEquals(List.of(listener, listener), List.of(index.resolve(String.class)));
+		assertTrue(index.unregister(Object.class, listener));
+		assertTrue(index.unregister(String.class, listener));
+		assertTrue(index.isEmpty());
+	}
+
+	@Test
+	void batchesApplyAllChangesTogether() {
+		Listener old = new Listener("old"), kept = new Listener("kept");
+		index.register(Object.class, old);
+		index.register(Object.class, kept, EventPriority.HIGH);
+		Listener[] before = index.resolve(Object.class);
+		Listener low = new Listener("low"), normal = new Listener("normal"), high = new Listener("high");
+		int removed = index.update(batch -> {
+			batch.register(Object.class, high, EventPriority.HIGH);
+			batch.register(Object.class, normal);
+			batch.unregister(Object.class, old);
+			batch.register(Object.class, low, EventPriority.LOW);
+			// Unregistrations only apply to listeners registered before the batch
+			batch.unregister(Object.class, low);
+			assertSame(before, index.resolve(Object.class));
+		});
+		assertEquals(1, removed);
+		assertEquals(List.of(low, normal, kept, high), List.of(index.resolve(Object.class)));
+	}
+
+	@Test
+	void emptyBatchesKeepTheSnapshot() {
+		index.register(Object.class, new Listener("listener"));
+		Listener[] resolved = index.resolve(Object.class);
+		assertEquals(0, index.update(batch -> batch.unregister(Object.class, new Listener("absent"))));
+		assertSame(resolved, index.resolve(Object.class));
+	}
+
+	@Test
+	void rejectsNullArguments() {
+		assertThrows(NullPointerException.class, () -> index.register(null, new Listener("listener")));
+		assertThrows(NullPointerException.class, () -> index.register(Object.class, null));
+		assertThrows(NullPointerException.class, () -> index.register(Object.class, new Listener("listener"), (EventPriority) null));
+		assertTrue(index.isEmpty());
+	}
+
+	@Test
+	void concurrentChangesAreNotLost() throws Exception {
+		int threads = 8, perThread = 500;
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean torn = new AtomicBoolean();
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(Thread.ofPlatform().start(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				for (int i = 0; i < perThread; i++) {
+					Listener listener = new Listener("listener");
+					index.register(Object.class, listener);
+					Listener temporary = new Listener("temporary");
+					index.update(batch -> {
+						batch.register(Object.class, temporary);
+						batch.register(String.class, temporary);
+					});
+					// Both registrations of a batch are visible together
+					long count = Arrays.stream(index.resolve(String.class)).filter(l -> l == temporary).count();
+					if (count != 2) torn.set(true);
+					index.update(batch -> {
+						batch.unregister(Object.class, temporary);
+						batch.unregister(String.class, temporary);
+					});
+				}
+			}));
+		}
+		start.countDown();
+		for (Thread worker : workers) worker.join();
+		assertFalse(torn.get());
+		assertEquals(threads * perThread, index.resolve(Object.class).length);
+		assertEquals(threads * perThread, index.resolve(String.class).length);
+	}
+
+	@Test
+	void dispatchDoesNotBlockDuringRegistration() throws Exception {
+		index.register(Object.class, new Listener("listener"));
+		CountDownLatch inside = new CountDownLatch(1), release = new CountDownLatch(1);
+		Thread registering = Thread.ofPlatform().start(() -> index.update(batch -> {
+			inside.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			batch.register(Object.class, new Listener("late"));
+		}));
+		inside.await();
+		assertEquals(1, index.resolve(Object.class).length);
+		release.countDown();
+		registering.join();
+		assertEquals(2, index.resolve(Object.class).length);
+	}
+
+}
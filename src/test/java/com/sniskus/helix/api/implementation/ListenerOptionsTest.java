@@ -0,0 +1,31 @@
+package com.sniskus.helix.api.implementation;
+
+import org.bukkit.event.EventPriority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListenerOptionsTest {
+
+	@Test
+	void defaultsMatchBukkit() {
+		assertEquals(EventPriority.NORMAL, ListenerOptions.DEFAULT.getPriority());
+		assertFalse(ListenerOptions.DEFAULT.isIgnoreCancelled());
+		assertSame(ListenerOptions.DEFAULT, ListenerOptions.of(EventPriority.NORMAL));
+	}
+
+	@Test
+	void withersCopy() {
+		ListenerOptions options = ListenerOptions.of(EventPriority.HIGH).withIgnoreCancelled(true);
+		assertEquals(EventPriority.HIGH, options.getPriority());
+		assertTrue(options.isIgnoreCancelled());
+		ListenerOptions lowest = options.withPriority(EventPriority.LOWEST);
+		assertEquals(EventPriority.LOWEST, lowest.getPriority());
+		assertTrue(lowest.isIgnoreCancelled());
+		assertEquals(EventPriority.HIGH, options.getPriority());
+		assertEquals(options, ListenerOptions.of(EventPriority.HIGH).withIgnoreCancelled(true));
+		assertNotEquals(options, lowest);
+		assertThrows(NullPointerException.class, () -> options.withPriority(null));
+	}
+
+}
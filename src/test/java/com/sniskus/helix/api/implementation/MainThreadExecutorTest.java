@@ -0,0 +1,116 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.script.ScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MainThreadExecutorTest {
+	private final Thread main = Thread.currentThread();
+	private final MainThreadExecutor executor = new MainThreadExecutor(() -> Thread.currentThread() == main);
+
+	@Test
+	void callOnMainThreadRunsImmediately() {
+		assertEquals("done", executor.call(() -> "done"));
+		assertEquals(0, executor.drain());
+	}
+
+	@Test
+	void callsFromOtherThreadsAreBatchedUntilDrain() throws Exception {
+		try (ExecutorService scripts = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<Thread>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				results.add(scripts.submit(() -> executor.call(Thread::currentThread)));
+			}
+			int drained = 0;
+			while (drained < 100) {
+				drained += executor.drain();
+				Thread.onSpinWait();
+			}
+			for (Future<Thread> result : results) {
+				assertSame(main, result.get(10, TimeUnit.SECONDS));
+			}
+		}
+	}
+
+	@Test
+	void callWaitsForMainThread() throws Exception {
+		CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> executor.call(() -> "done"));
+		assertThrows(TimeoutException.class, () -> result.get(100, TimeUnit.MILLISECONDS));
+		while (executor.drain() == 0) Thread.onSpinWait();
+		assertEquals("done", result.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void tasksQueuedWhileDrainingAreDeferred() {
+		List<String> ran = new ArrayList<>();
+		executor.execute(() -> {
+			ran.add("first");
+			executor.execute(() -> ran.add("second"));
+		});
+		assertEquals(1, executor.drain());
+		assertEquals(List.of("first"), ran);
+		assertEquals(1, executor.drain());
+		assertEquals(List.of("first", "second"), ran);
+	}
+
+	@Test
+	void drainRequiresMainThread() {
+		CompletableFuture<Integer> result = CompletableFuture.supplyAsync(executor::drain);
+		ExecutionException e = assertThrows(ExecutionException.class, result::get);
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+	}
+
+	@Test
+	void uncheckedExceptionsAreRethrown() {
+		IllegalArgumentException cause = new IllegalArgumentException();
+		assertSame(cause, assertThrows(IllegalArgumentException.class, () -> executor.call(() -> {
+			throw cause;
+		})));
+	}
+
+	@Test
+	void checkedExceptionsAreWrapped() throws Exception {
+		CompletableFuture<Object> result = CompletableFuture.supplyAsync(() -> executor.call(() -> {
+			throw new IOException("failed");
+		}));
+		while (executor.drain() == 0) Thread.onSpinWait();
+		ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(ScriptException.class, e.getCause());
+		assertInstanceOf(IOException.class, e.getCause().getCause());
+	}
+
+	@Test
+	void shutdownWakesWaitingCallers() throws Exception {
+		CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> executor.call(() -> "done"));
+		assertThrows(TimeoutException.class, () -> result.get(100, TimeUnit.MILLISECONDS));
+		executor.shutdown();
+		assertTrue(executor.isShutdown());
+		ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(ScriptException.class, e.getCause());
+		assertEquals(0, executor.drain());
+	}
+
+	@Test
+	void shutdownRejectsFurtherCalls() throws Exception {
+		executor.shutdown();
+		assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+		CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> executor.call(() -> "done"));
+		ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(ScriptException.class, e.getCause());
+		assertEquals("done", executor.call(() -> "done"));
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.annotate.methods.Extension;
+import com.sniskus.helix.api.script.ScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodInvokerTest {
+
+	public static class Methods implements StaticMethods {
+		private int calls;
+
+		public int count() {
+			return ++calls;
+		}
+
+		public long add(long a, long b) {
+			return a + b;
+		}
+
+		public void reset() {
+			calls = 0;
+		}
+
+		public String join(String a, String b, String c) {
+			return a + b + c;
+		}
+
+		public String join(String a, String b, String c, String d) {
+			return a + b + c + d;
+		}
+
+		public void fail(boolean checked) throws IOException {
+			if (checked) throw new IOException("checked");
+			throw new IllegalStateException("unchecked");
+		}
+	}
+
+	public static class Builders extends InstanceMethods<StringBuilder> {
+
+		public Builders(StringBuilder delegate) {
+			super(delegate);
+		}
+
+		public int size() {
+			return delegate.length();
+		}
+
+		public void append(String value) {
+			delegate.append(value);
+		}
+
+		@Extension
+		public static char first(StringBuilder self) {
+			return self.charAt(0);
+		}
+
+		public static char last(StringBuilder self) {
+			return self.charAt(self.length() - 1);
+		}
+
+		@Extension
+		public static int length(String self) {
+			return self.length();
+		}
+
+		@Extension
+		public static int none() {
+			return 0;
+		}
+	}
+
+	public static class Sequences extends InstanceMethods<StringBuilder> {
+
+		public Sequences(StringBuilder delegate) {
+			super(delegate);
+		}
+
+		@Extension
+		public static int length(CharSequence self) {
+			return self.length();
+		}
+	}
+
+	private static Method method(Class<?> type, String name, Class<?>... parameters) throws NoSuchMethodException {
+		return type.getMethod(name, parameters);
+	}
+
+	private static Object function(MethodInvoker invoker) throws ReflectiveOperationException {
+		Field field = MethodInvoker.class.getDeclaredField("function");
+		field.setAccessible(true);
+		return field.get(invoker);
+	}
+
+	@Test
+	void invokesStaticMethodsDirectly() throws Exception {
+		Methods methods = new Methods();
+		MethodInvoker count = MethodInvoker.of(methods, method(Methods.class, "count"));
+		MethodInvoker add = MethodInvoker.of(methods, method(Methods.class, "add", long.class, long.class));
+		MethodInvoker reset = MethodInvoker.of(methods, method(Methods.class, "reset"));
+		MethodInvoker join = MethodInvoker.of(methods, method(Methods.class, "join", String.class, String.class, String.class));
+
+		assertEquals(1, count.invoke(null));
+		assertEquals(2, count.invoke("ignored"));
+		assertNull(reset.invoke(null));
+		assertEquals(1, count.invoke(null));
+		assertEquals(5L, add.invoke(null, 2L, 3L));
+		assertEquals("abc", join.invoke(null, "a", "b", "c"));
+		assertEquals("abc", join.invokeWithArguments(null, "a", "b", "c"));
+		assertEquals(3, join.getArity());
+		assertNotNull(join.getMethod());
+		assertEquals(Methods.class.getNestHost(), function(add).getClass().getNestHost());
+	}
+
+	@Test
+	void spreadsArgumentsBeyondDirectArity() throws Exception {
+		MethodInvoker join = MethodInvoker.of(new Methods(),
+				method(Methods.class, "join", String.class, String.class, String.class, String.class));
+		assertEquals(4, join.getArity());
+		assertEquals("abcd", join.invokeWithArguments(null, "a", "b", "c", "d"));
+		assertThrows(IllegalArgumentException.class, () -> join.invokeWithArguments(null, "a"));
+	}
+
+	@Test
+	void rejectsMismatchedArity() throws Exception {
+		MethodInvoker add = MethodInvoker.of(new Methods(), method(Methods.class, "add", long.class, long.class));
+		assertThrows(IllegalArgumentException.class, () -> add.invoke(null));
+		assertThrows(IllegalArgumentException.class, () -> add.invoke(null, 1L));
+		assertThrows(ClassCastException.class, () -> add.invoke(null, "1", 2L));
+	}
+
+	@Test
+	void wrapsCheckedExceptions() throws Exception {
+		MethodInvoker fail = MethodInvoker.of(new Methods(), method(Methods.class, "fail", boolean.class));
+		ScriptException e = assertThrows(ScriptException.class, () -> fail.invoke(null, true));
+		assertInstanceOf(IOException.class, e.getCause());
+		assertThrows(IllegalStateException.class, () -> fail.invoke(null, false));
+	}
+
+	@Test
+	void rejectsInvalidMethods() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> MethodInvoker.of(new Methods(), method(Builders.class, "size")));
+		assertThrows(IllegalArgumentException.class,
+				() -> MethodInvoker.of(new Methods(), method(Builders.class, "first", StringBuilder.class)));
+	}
+
+	@Test
+	void rejectsStaticMethodsWhichAreNotExtensions() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> MethodInvoker.of(Builders.class, method(Builders.class, "last", StringBuilder.class)));
+		assertThrows(IllegalArgumentException.class,
+				() -> MethodInvoker.of(Builders.class, method(Builders.class, "length", String.class)));
+		assertThrows(IllegalArgumentException.class,
+				() -> MethodInvoker.of(Builders.class, method(Builders.class, "none")));
+	}
+
+	@Test
+	void acceptsExtensionsTakingSupertypesOfTheDelegate() throws Exception {
+		MethodInvoker length = MethodInvoker.of(Sequences.class, method(Sequences.class, "length", CharSequence.class));
+		assertEquals(3, length.invoke(new StringBuilder("abc")));
+	}
+
+	@Test
+	void invokesInstanceMethodsOnDelegate() throws Exception {
+		StringBuilder delegate = new StringBuilder("ab");
+		MethodInvoker size = MethodInvoker.of(Builders.class, method(Builders.class, "size"));
+		MethodInvoker append = MethodInvoker.of(Builders.class, method(Builders.class, "append", String.class));
+		MethodInvoker first = MethodInvoker.of(Builders.class, method(Builders.class, "first", StringBuilder.class));
+
+		assertNull(append.invoke(delegate, "c"));
+		assertEquals(3, size.invoke(delegate));
+		assertEquals(0, first.getArity());
+		assertEquals('a', first.invoke(delegate));
+		assertThrows(NullPointerException.class, () -> size.invoke(null));
+	}
+
+	@Test
+	void invokesMethodsFromGeneratedBindings() {
+		Binding binding = Binding.of("twice", (MethodInvoker.Call1) (self, a) -> (Integer) a * 2, Binding.Parameter.of("value", int.class));
+		MethodInvoker twice = MethodInvoker.of(new Methods(), binding);
+		assertEquals(4, twice.invoke(null, 2));
+		assertNull(twice.getMethod());
+	}
+
+	@Test
+	void fallsBackToMethodHandlesForOtherClassLoaders() throws Exception {
+		Class<?> isolated = isolate(IsolatedMethods.class);
+		assertNotSame(IsolatedMethods.class, isolated);
+		StaticMethods methods = (StaticMethods) isolated.getConstructor().newInstance();
+
+		MethodInvoker greet = MethodInvoker.of(methods, method(isolated, "greet", String.class));
+		MethodInvoker ignore = MethodInvoker.of(methods, method(isolated, "ignore", Object.class, int.class));
+		MethodInvoker sum = MethodInvoker.of(methods, method(isolated, "sum", int.class, int.class, int.class, int.class));
+		assertEquals("Hello, Steve", greet.invoke(null, "Steve"));
+		assertNull(ignore.invoke(null, "value", 2));
+		assertEquals(10, sum.invokeWithArguments(null, 1, 2, 3, 4));
+		assertEquals(MethodInvoker.class, function(greet).getClass().getNestHost());
+	}
+
+	@Test
+	void bindsDirectlyWithOwnerLookup() throws Exception {
+		Class<?> isolated = isolate(IsolatedMethods.class);
+		MethodHandles.Lookup lookup = (MethodHandles.Lookup) isolated.getMethod("lookup").invoke(null);
+		StaticMethods methods = (StaticMethods) isolated.getConstructor().newInstance();
+
+		MethodInvoker greet = MethodInvoker.of(methods, method(isolated, "greet", String.class), lookup);
+		assertEquals("Hello, Alex", greet.invoke(null, "Alex"));
+		assertEquals(isolated, function(greet).getClass().getNestHost());
+		assertThrows(IllegalArgumentException.class,
+				() -> MethodInvoker.of(methods, method(isolated, "greet", String.class), MethodHandles.publicLookup()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void wrapsDelegatesOfOtherClassLoaders() throws Exception {
+		Class<? extends InstanceMethods<?>> isolated = (Class<? extends InstanceMethods<?>>) isolate(IsolatedMethods.Builders.class);
+		MethodInvoker size = MethodInvoker.of(isolated, method(isolated, "size"));
+		MethodInvoker reversed = MethodInvoker.of(isolated, method(isolated, "reversed", StringBuilder.class));
+		assertEquals(3, size.invoke(new StringBuilder("abc")));
+		assertEquals("cba", reversed.invoke(new StringBuilder("abc")));
+	}
+
+	/**
+	 * Loads a class through a separate class loader, which places it in a different
+	 * runtime package and unnamed module than the API.
+	 */
+	private static Class<?> isolate(Class<?> type) throws ClassNotFoundException {
+		return new IsolatingClassLoader(type.getClassLoader(), Set.of(type.getName())).loadClass(type.getName());
+	}
+
+	private static final class IsolatingClassLoader extends ClassLoader {
+		private final Set<String> isolated;
+
+		private IsolatingClassLoader(ClassLoader parent, Set<String> isolated) {
+			super(parent);
+			this.isolated = isolated;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!isolated.contains(name)) return super.loadClass(name, resolve);
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> type = findLoadedClass(name);
+				if (type != null) return type;
+				try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+					if (stream == null) throw new ClassNotFoundException(name);
+					byte[] bytes = stream.readAllBytes();
+					return defineClass(name, bytes, 0, bytes.length);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.sniskus.helix.api.implementation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An event bus which records posts instead of dispatching them, relying on the
+ * default implementations of every other method.
+ */
+public final class RecordingEventBus implements EventBus {
+	private final List<Post> posts = new ArrayList<>();
+	private CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+
+	public record Post(@Nullable Trigger<?> trigger, @Nullable Object value, boolean async) { }
+
+	public synchronized @NotNull List<Post> posts() {
+		return List.copyOf(posts);
+	}
+
+	public synchronized void reset(@NotNull CompletableFuture<Void> result) {
+		posts.clear();
+		this.result = result;
+	}
+
+	@Override
+	public synchronized void post(@NotNull Object object) {
+		posts.add(new Post(null, object, false));
+	}
+
+	@Override
+	public synchronized <T> void post(@NotNull Trigger<? super T> trigger, @Nullable T with) {
+		posts.add(new Post(trigger, with, false));
+	}
+
+	@Override
+	public synchronized @NotNull CompletableFuture<Void> postAsync(@NotNull Object object) {
+		posts.add(new Post(null, object, true));
+		return result;
+	}
+
+	@Override
+	public synchronized <T> @NotNull CompletableFuture<Void> postAsync(@NotNull Trigger<? super T> trigger, @Nullable T with) {
+		posts.add(new Post(trigger, with, true));
+		return result;
+	}
+
+}
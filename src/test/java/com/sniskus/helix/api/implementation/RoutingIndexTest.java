@@ -0,0 +1,105 @@
+package com.sniskus.helix.api.implementation;
+
+import org.bukkit.event.EventPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingIndexTest {
+	private final RoutingIndex<Listener> index = new RoutingIndex<>(Listener[]::new);
+
+	private record Listener(String name) { }
+
+	@Test
+	void routesByKeyIncludingUnroutedListeners() {
+		Listener swords = new Listener("swords"), sticks = new Listener("sticks"), all = new Listener("all");
+		index.register("diamond_sword", swords);
+		index.register(null, all);
+		index.register("stick", sticks);
+		assertEquals(List.of(swords, all), List.of(index.route("diamond_sword")));
+		assertEquals(List.of(all, sticks), List.of(index.route("stick")));
+		assertEquals(List.of(all), List.of(index.route("dirt")));
+		assertEquals(List.of(swords, all, sticks), List.of(index.route(null)));
+	}
+
+	@Test
+	void keysAreComparedByEquality() {
+		Listener listener = new Listener("listener");
+		index.register(List.of("a", "b"), listener);
+		assertEquals(List.of(listener), List.of(index.route(List.of("a", "b"))));
+		assertEquals(0, index.route(List.of("a")).length);
+	}
+
+	@Test
+	void ordersByPriorityAcrossRoutedAndUnrouted() {
+		Listener routed = new Listener("routed"), high = new Listener("high"), low = new Listener("low");
+		index.register("key", routed);
+		index.register(null, high, EventPriority.HIGH);
+		index.register(null, low, EventPriority.LOW);
+		assertEquals(List.of(low, routed, high), List.of(index.route("key")));
+	}
+
+	@Test
+	void routesMonitorsSeparately() {
+		Listener monitor = new Listener("monitor"), other = new Listener("other"), listener = new Listener("listener");
+		index.register("key", monitor, EventPriority.MONITOR);
+		index.register("other", other, EventPriority.MONITOR);
+		index.register("key", listener);
+		assertEquals(List.of(listener), List.of(index.route("key")));
+		assertEquals(List.of(monitor), List.of(index.routeMonitors("key")));
+		assertEquals(0, index.routeMonitors("missing").length);
+	}
+
+	@Test
+	void routesIgnoreCancelledFlags() {
+		Listener routed = new Listener("routed"), all = new Listener("all");
+		index.update(batch -> {
+			batch.register("key", routed, ListenerOptions.of(EventPriority.HIGH).withIgnoreCancelled(true));
+			batch.register(null, all, ListenerOptions.DEFAULT);
+		});
+		Resolved<Listener> resolved = index.routeAll("key");
+		assertEquals(List.of(all, routed), List.of(resolved.listeners()));
+		assertArrayEquals(new boolean[] {false, true}, resolved.ignoreCancelled());
+		assertArrayEquals(new boolean[] {false}, index.routeAll("other").ignoreCancelled());
+		assertEquals(0, resolved.monitorsIgnoreCancelled().length);
+	}
+
+	@Test
+	void unregisterRemovesListenerFromAllRoutes() {
+		Listener listener = new Listener("listener"), other = new Listener("other");
+		index.register("key", listener);
+		index.register(null, other);
+		assertTrue(index.unregister(listener));
+		assertFalse(index.unregister(listener));
+		assertEquals(List.of(other), List.of(index.route("key")));
+		assertTrue(index.unregister(other));
+		assertTrue(index.isEmpty());
+	}
+
+	@Test
+	void batchesApplyAtOnce() {
+		Listener old = new Listener("old"), first = new Listener("first"), second = new Listener("second");
+		index.register("key", old);
+		Listener[] before = index.route("key");
+		int removed = index.update(batch -> {
+			batch.register("key", first);
+			batch.unregister(old);
+			batch.register(null, second, EventPriority.LOWEST);
+			assertSame(before, index.route("key"));
+		});
+		assertEquals(1, removed);
+		assertEquals(List.of(second, first), List.of(index.route("key")));
+	}
+
+	@Test
+	void unchangedBatchesKeepRoutes() {
+		Listener listener = new Listener("listener");
+		index.register("key", listener);
+		Listener[] before = index.route("key");
+		assertEquals(0, index.update(batch -> batch.unregister(new Listener("missing"))));
+		assertSame(before, index.route("key"));
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.sniskus.helix.api.implementation;
+
+/**
+ * Static methods whose binding table {@link BindingTableTest} registers by hand.
+ */
+public class TableMethods implements StaticMethods {
+
+	public int twice(int value) {
+		return value * 2;
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.sniskus.helix.api.implementation;
+
+import java.util.List;
+
+/**
+ * A binding table of {@link TableMethods}, written like the generated ones.
+ */
+public final class TableMethods_HelixBindings implements BindingTable {
+	private static final List<Binding> BINDINGS = List.of(
+			Binding.of("twice",
+					(MethodInvoker.Call1) (self, a) -> ((TableMethods) self).twice((Integer) a),
+					Binding.Parameter.of("value", int.class)));
+
+	@Override
+	public Class<?> getOwner() {
+		return TableMethods.class;
+	}
+
+	@Override
+	public List<Binding> getBindings() {
+		return BINDINGS;
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.script.ScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriggerInternerTest {
+	private final TriggerInterner interner = new TriggerInterner();
+
+	@Test
+	void equalArgumentsShareAnInstance() {
+		Counting a = interner.acquire(Counting.class, "diamond_sword", new int[] {1, 2});
+		Counting b = interner.acquire(Counting.class, "diamond_sword", new int[] {1, 2});
+		Counting c = interner.acquire(Counting.class, "stick", new int[] {1, 2});
+		assertSame(a, b);
+		assertNotSame(a, c);
+		assertEquals(2, interner.size());
+		assertEquals(1, a.registered.get());
+	}
+
+	@Test
+	void lastReleaseUnregisters() {
+		Counting a = interner.acquire(Counting.class, "a", null);
+		interner.acquire(Counting.class, "a", null);
+		assertFalse(interner.release(a));
+		assertEquals(0, a.unregistered.get());
+		assertTrue(interner.release(a));
+		assertEquals(1, a.unregistered.get());
+		assertEquals(0, interner.size());
+		assertThrows(IllegalArgumentException.class, () -> interner.release(a));
+
+		Counting b = interner.acquire(Counting.class, "a", null);
+		assertNotSame(a, b);
+		assertEquals(1, b.registered.get());
+	}
+
+	@Test
+	void reverseLookupUsesIdentity() {
+		Equal a = interner.acquire(Equal.class, "a");
+		Equal b = interner.acquire(Equal.class, "b");
+		assertEquals(a, b);
+		assertTrue(interner.release(b));
+		assertTrue(interner.release(a));
+		assertEquals(0, interner.size());
+	}
+
+	@Test
+	void foreignInstancesAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> interner.release(new Counting("a", null)));
+	}
+
+	@Test
+	void failedCreationLeavesNoEntry() {
+		assertThrows(ScriptException.class, () -> interner.acquire(Failing.class, true, false));
+		assertThrows(IllegalStateException.class, () -> interner.acquire(Failing.class, false, true));
+		assertEquals(0, interner.size());
+		assertThrows(IllegalArgumentException.class, () -> interner.acquire(TwoConstructors.class));
+	}
+
+	@Test
+	void callbacksMayUseTheInterner() {
+		Nested.interner = interner;
+		Nested nested = interner.acquire(Nested.class);
+		assertEquals(2, interner.size());
+		assertTrue(interner.release(nested));
+		assertEquals(0, interner.size());
+	}
+
+	@Test
+	void concurrentAcquisitionsWaitForRegistration() throws Exception {
+		Slow.started = new CountDownLatch(1);
+		Slow.proceed = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			Future<Slow> first = executor.submit(() -> interner.acquire(Slow.class));
+			assertTrue(Slow.started.await(10, TimeUnit.SECONDS));
+			List<Future<Slow>> others = new ArrayList<>();
+			for (int i = 0; i < 7; i++) {
+				others.add(executor.submit(() -> {
+					Slow slow = interner.acquire(Slow.class);
+					assertTrue(slow.registered);
+					return slow;
+				}));
+			}
+			Thread.sleep(50);
+			for (Future<Slow> other : others) assertFalse(other.isDone());
+			Slow.proceed.countDown();
+
+			Set<Slow> instances = ConcurrentHashMap.newKeySet();
+			instances.add(first.get(10, TimeUnit.SECONDS));
+			for (Future<Slow> other : others) instances.add(other.get(10, TimeUnit.SECONDS));
+			assertEquals(1, instances.size());
+			Slow slow = instances.iterator().next();
+			for (int i = 0; i < 7; i++) assertFalse(interner.release(slow));
+			assertTrue(interner.release(slow));
+		}
+	}
+
+	public static final class Counting extends Trigger.Simple {
+		private final AtomicInteger registered = new AtomicInteger();
+		private final AtomicInteger unregistered = new AtomicInteger();
+
+		public Counting(String item, int[] values) { }
+
+		@Override
+		public void onListenerRegister() {
+			registered.incrementAndGet();
+		}
+
+		@Override
+		public void onListenerUnregister() {
+			unregistered.incrementAndGet();
+		}
+	}
+
+	public static final class Equal extends Trigger.Simple {
+		public Equal(String name) { }
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Equal;
+		}
+
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+	}
+
+	public static final class Failing extends Trigger.Simple {
+		private final boolean failRegister;
+
+		public Failing(boolean failConstructor, boolean failRegister) {
+			if (failConstructor) throw new ScriptException("Invalid arguments");
+			this.failRegister = failRegister;
+		}
+
+		@Override
+		public void onListenerRegister() {
+			if (failRegister) throw new IllegalStateException();
+		}
+	}
+
+	public static final class TwoConstructors extends Trigger.Simple {
+		public TwoConstructors() { }
+
+		public TwoConstructors(String name) { }
+	}
+
+	public static final class Nested extends Trigger.Simple {
+		private static TriggerInterner interner;
+		private Counting inner;
+
+		public Nested() { }
+
+		@Override
+		public void onListenerRegister() {
+			inner = interner.acquire(Counting.class, "inner", null);
+		}
+
+		@Override
+		public void onListenerUnregister() {
+			interner.release(inner);
+		}
+	}
+
+	public static final class Slow extends Trigger.Simple {
+		private static CountDownLatch started;
+		private static CountDownLatch proceed;
+		private volatile boolean registered;
+
+		public Slow() { }
+
+		@Override
+		public void onListenerRegister() {
+			started.countDown();
+			try {
+				assertTrue(proceed.await(10, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				throw new AssertionError(e);
+			}
+			registered = true;
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.sniskus.helix.api.implementation;
+
+import com.sniskus.helix.api.script.Dictionary;
+import com.sniskus.helix.api.script.FlatDictionary;
+import org.bukkit.event.Cancellable;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriggerTest {
+
+	@Test
+	void handleDelegatesToPopulate() {
+		Trigger<String> trigger = new Trigger<>(String.class) {
+			@Override
+			public void populate(String value, @NotNull Dictionary dict) {
+				dict.put("value", value);
+			}
+		};
+		Dictionary dict = new FlatDictionary();
+		assertTrue(trigger.accepts("a"));
+		assertTrue(trigger.handle("a", dict));
+		assertEquals("a", dict.get("value"));
+	}
+
+	@Test
+	void simpleTriggerIsRoutedThroughAcceptsAndPopulate() {
+		Trigger.Simple trigger = new Trigger.Simple() {
+			private int calls;
+
+			@Override
+			public boolean accepts() {
+				return ++calls % 2 == 1;
+			}
+
+			@Override
+			public void populate(@NotNull Dictionary dict) {
+				dict.putLong("calls", calls);
+			}
+		};
+		Trigger<Void> generic = trigger;
+		assertTrue(generic.accepts(null));
+		assertFalse(generic.accepts(null));
+		Dictionary dict = new FlatDictionary();
+		assertTrue(generic.handle(null, dict));
+		assertEquals(2, dict.getLong("calls", 0));
+		dict.clear();
+		generic.populate(null, dict);
+		assertEquals(2, dict.getLong("calls", 0));
+	}
+
+	@Test
+	void simpleTriggerOverridingHandleStillWorks() {
+		Trigger<Void> trigger = new Trigger.Simple() {
+			@Override
+			public boolean handle(@NotNull Dictionary dict) {
+				dict.put("handled", true);
+				return false;
+			}
+		};
+		Dictionary dict = new FlatDictionary();
+		assertTrue(trigger.accepts(null));
+		assertFalse(trigger.handle(null, dict));
+		assertTrue(dict.getBoolean("handled", false));
+	}
+
+	@Test
+	void cancellableValuesAreCancelledByDefault() {
+		Trigger<Object> trigger = new Trigger<>(Object.class) { };
+		Cancellable value = new Cancellable() {
+			private boolean cancelled;
+
+			@Override
+			public boolean isCancelled() {
+				return cancelled;
+			}
+
+			@Override
+			public void setCancelled(boolean cancel) {
+				cancelled = cancel;
+			}
+		};
+		assertFalse(trigger.isCancelled(value));
+		value.setCancelled(true);
+		assertTrue(trigger.isCancelled(value));
+		assertFalse(trigger.isCancelled("value"));
+		assertNull(trigger.routingKey());
+		assertNull(trigger.routingKeyOf("value"));
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.sniskus.helix.api.script;
+
+import com.google.common.collect.ForwardingMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A minimal frame following the documented contract of {@link Frame}.
+ */
+final class ArrayFrame implements Frame {
+	private static final byte OBJECT = 0, LONG = 1, DOUBLE = 2, BOOLEAN = 3;
+
+	private final ArrayLayout layout;
+	private final Object[] objects;
+	private final long[] primitives;
+	private final byte[] kinds;
+
+	private ArrayFrame(@NotNull ArrayLayout layout) {
+		this.layout = layout;
+		this.objects = new Object[layout.size()];
+		this.primitives = new long[layout.size()];
+		this.kinds = new byte[layout.size()];
+	}
+
+	static @NotNull Layout layout(@NotNull String @NotNull ... names) {
+		return new ArrayLayout(names.clone());
+	}
+
+	@Override
+	public @NotNull Layout getLayout() {
+		return layout;
+	}
+
+	@Override
+	public @Nullable Object get(int slot) {
+		return switch (kinds[slot]) {
+			case LONG -> primitives[slot];
+			case DOUBLE -> Double.longBitsToDouble(primitives[slot]);
+			case BOOLEAN -> primitives[slot] != 0;
+			default -> objects[slot];
+		};
+	}
+
+	@Override
+	public void set(int slot, @Nullable Object value) {
+		objects[slot] = value;
+		kinds[slot] = OBJECT;
+	}
+
+	@Override
+	public long getLong(int slot) {
+		return switch (kinds[slot]) {
+			case LONG -> primitives[slot];
+			case DOUBLE -> (long) Double.longBitsToDouble(primitives[slot]);
+			case BOOLEAN -> throw new ScriptException("Slot " + slot + " is not a number");
+			default -> {
+				if (objects[slot] instanceof Number number) yield number.longValue();
+				throw new ScriptException("Slot " + slot + " is not a number");
+			}
+		};
+	}
+
+	@Override
+	public void setLong(int slot, long value) {
+		objects[slot] = null;
+		primitives[slot] = value;
+		kinds[slot] = LONG;
+	}
+
+	@Override
+	public double getDouble(int slot) {
+		return switch (kinds[slot]) {
+			case DOUBLE -> Double.longBitsToDouble(primitives[slot]);
+			case LONG -> primitives[slot];
+			case BOOLEAN -> throw new ScriptException("Slot " + slot + " is not a number");
+			default -> {
+				if (objects[slot] instanceof Number number) yield number.doubleValue();
+				throw new ScriptException("Slot " + slot + " is not a number");
+			}
+		};
+	}
+
+	@Override
+	public void setDouble(int slot, double value) {
+		objects[slot] = null;
+		primitives[slot] = Double.doubleToRawLongBits(value);
+		kinds[slot] = DOUBLE;
+	}
+
+	@Override
+	public boolean getBoolean(int slot) {
+		if (kinds[slot] == BOOLEAN) return primitives[slot] != 0;
+		if (kinds[slot] == OBJECT && objects[slot] instanceof Boolean bool) return bool;
+		throw new ScriptException("Slot " + slot + " is not a boolean");
+	}
+
+	@Override
+	public void setBoolean(int slot, boolean value) {
+		objects[slot] = null;
+		primitives[slot] = value ? 1 : 0;
+		kinds[slot] = BOOLEAN;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(objects, null);
+		Arrays.fill(kinds, OBJECT);
+	}
+
+	@Override
+	public @NotNull Dictionary asDictionary() {
+		return new View();
+	}
+
+	private record ArrayLayout(@NotNull String[] names) implements Layout {
+
+		@Override
+		public int size() {
+			return names.length;
+		}
+
+		@Override
+		public int slot(@NotNull String name) {
+			return Arrays.asList(names).indexOf(name);
+		}
+
+		@Override
+		public @NotNull String name(int slot) {
+			return names[slot];
+		}
+
+		@Override
+		public @NotNull Frame newFrame() {
+			return new ArrayFrame(this);
+		}
+	}
+
+	private final class View extends ForwardingMap<String, Object> implements Dictionary {
+
+		@Override
+		protected @NotNull Map<String, Object> delegate() {
+			return IntStream.range(0, layout.size())
+					.filter(slot -> ArrayFrame.this.get(slot) != null)
+					.boxed()
+					.collect(Collectors.toMap(layout::name, ArrayFrame.this::get, (a, b) -> a, HashMap::new));
+		}
+
+		@Override
+		public @Nullable Object get(Object key) {
+			int slot = key instanceof String name ? layout.slot(name) : -1;
+			return slot < 0 ? null : ArrayFrame.this.get(slot);
+		}
+
+		@Override
+		public @Nullable Object put(@NotNull String key, @Nullable Object value) {
+			int slot = layout.slot(key);
+			if (slot < 0) throw new IllegalArgumentException(key + " is not part of the layout");
+			Object previous = ArrayFrame.this.get(slot);
+			set(slot, value);
+			return previous;
+		}
+	}
+
+}
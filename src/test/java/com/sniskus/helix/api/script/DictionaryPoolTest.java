@@ -0,0 +1,125 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryPoolTest {
+
+	@Test
+	void releasedDictionariesAreClearedAndReused() {
+		DictionaryPool pool = new DictionaryPool(4, false);
+		Dictionary.Lease first = pool.acquire();
+		first.putLong("a", 1);
+		Object backing = backing(first);
+		first.release();
+		try (Dictionary.Lease second = pool.acquire()) {
+			assertSame(backing, backing(second));
+			assertTrue(second.isEmpty());
+		}
+	}
+
+	@Test
+	void releasingTwiceFails() {
+		Dictionary.Lease lease = new DictionaryPool(4, false).acquire();
+		lease.close();
+		assertThrows(IllegalStateException.class, lease::release);
+	}
+
+	@Test
+	void debugModeRejectsUseAfterRelease() {
+		Dictionary.Lease lease = new DictionaryPool(4, true).acquire();
+		lease.release();
+		assertThrows(IllegalStateException.class, () -> lease.put("a", 1));
+		assertThrows(IllegalStateException.class, () -> lease.getLong("a", 0));
+	}
+
+	@Test
+	void leasesArePooledWithTheirDictionaries() {
+		DictionaryPool pool = new DictionaryPool(4, false);
+		Dictionary.Lease first = pool.acquire();
+		first.release();
+		Dictionary.Lease second = pool.acquire();
+		assertSame(first, second);
+		second.putLong("a", 1);
+		assertEquals(1, second.getLong("a", 0));
+		second.release();
+		assertThrows(IllegalStateException.class, second::release);
+	}
+
+	@Test
+	void debugModeRejectsUseAfterReleaseOnceLeasedAgain() {
+		DictionaryPool pool = new DictionaryPool(4, true);
+		Dictionary.Lease first = pool.acquire();
+		first.release();
+		try (Dictionary.Lease second = pool.acquire()) {
+			assertNotSame(first, second);
+			second.putLong("a", 1);
+			assertThrows(IllegalStateException.class, () -> first.getLong("a", 0));
+			assertThrows(IllegalStateException.class, first::release);
+			assertEquals(1, second.getLong("a", 0));
+		}
+	}
+
+	@Test
+	void plainDictionariesAreNotLeases() {
+		assertFalse(Dictionary.Lease.class.isAssignableFrom(FlatDictionary.class));
+		new FlatDictionary().release();
+	}
+
+	@Test
+	void idleDictionariesAreBounded() {
+		DictionaryPool pool = new DictionaryPool(2, false);
+		List<Dictionary.Lease> leases = List.of(pool.acquire(), pool.acquire(), pool.acquire());
+		Set<Object> released = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Dictionary.Lease lease : leases) {
+			released.add(backing(lease));
+			lease.release();
+		}
+		Set<Object> reused = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < 3; i++) reused.add(backing(pool.acquire()));
+		reused.retainAll(released);
+		assertEquals(2, reused.size());
+	}
+
+	@Test
+	void dictionariesAreSharedBetweenVirtualThreads() throws Exception {
+		DictionaryPool pool = new DictionaryPool(8, false);
+		Set<Object> created = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 1_000; i++) {
+				futures.add(executor.submit(() -> {
+					try (Dictionary.Lease lease = pool.acquire()) {
+						assertTrue(lease.isEmpty());
+						lease.putLong("a", 1);
+						created.add(backing(lease));
+					}
+				}));
+			}
+			for (Future<?> future : futures) future.get();
+		}
+		// A thread-local pool would create a dictionary per virtual thread
+		assertTrue(created.size() < 1_000, "Dictionaries were not reused: " + created.size());
+	}
+
+	private static Object backing(Dictionary.Lease lease) {
+		try {
+			var field = lease.getClass().getDeclaredField("dict");
+			field.setAccessible(true);
+			return field.get(lease);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+}
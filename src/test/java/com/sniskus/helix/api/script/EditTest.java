@@ -0,0 +1,73 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditTest {
+	private static final String CODE = "a = 1\nb = 2\nc = 3\n";
+
+	@Test
+	void replacesLines() {
+		assertEquals("a = 1\nx = 0\nc = 3\n", new Edit(1, 2, "x = 0").apply(CODE));
+		assertEquals("x = 0\ny = 0\nc = 3\n", new Edit(0, 2, "x = 0\ny = 0\n").apply(CODE));
+	}
+
+	@Test
+	void insertsBeforeTheStartLine() {
+		assertEquals("x = 0\na = 1\nb = 2\nc = 3\n", new Edit(0, 0, "x = 0").apply(CODE));
+		assertEquals("a = 1\nb = 2\nc = 3\nx = 0\n", new Edit(3, 3, "x = 0").apply(CODE));
+	}
+
+	@Test
+	void keepsTheFinalNewline() {
+		assertEquals("a\nc\n", new Edit(1, 2, "c").apply("a\nb\n"));
+		assertEquals("a = 1\nb = 2\nx = 0\n", new Edit(2, 3, "x = 0").apply(CODE));
+		assertEquals("x = 0\ny = 0\n", new Edit(0, 3, "x = 0\ny = 0").apply(CODE));
+		assertEquals("a\nc", new Edit(1, 2, "c").apply("a\nb"));
+	}
+
+	@Test
+	void deletesLinesWithEmptyText() {
+		assertEquals("a = 1\nc = 3\n", new Edit(1, 2, "").apply(CODE));
+		assertEquals("", new Edit(0, 3, "").apply(CODE));
+	}
+
+	@Test
+	void appendsAfterAnUnterminatedLastLine() {
+		assertEquals("a = 1\nb = 2", new Edit(1, 1, "b = 2").apply("a = 1"));
+		assertEquals("a = 1\nx = 0", new Edit(1, 2, "x = 0").apply("a = 1\nb = 2"));
+	}
+
+	@Test
+	void editsEmptyCode() {
+		assertEquals("a = 1", new Edit(0, 0, "a = 1").apply(""));
+	}
+
+	@Test
+	void rejectsRangesBeyondTheCode() {
+		assertThrows(IllegalArgumentException.class, () -> new Edit(4, 4, "x").apply(CODE));
+		assertThrows(IllegalArgumentException.class, () -> new Edit(0, 5, "x").apply(CODE));
+		assertThrows(IllegalArgumentException.class, () -> new Edit(2, 2, "x").apply("a = 1"));
+	}
+
+	@Test
+	void rejectsInvalidRanges() {
+		assertThrows(IllegalArgumentException.class, () -> new Edit(-1, 0, ""));
+		assertThrows(IllegalArgumentException.class, () -> new Edit(2, 1, ""));
+		assertThrows(NullPointerException.class, () -> new Edit(0, 0, null));
+	}
+
+	@Test
+	void reparseAppliesTheEditToTheCompiledScript() throws Exception {
+		TestParser parser = new TestParser();
+		Script script = parser.parse(Source.fromString(CODE));
+		assertEquals("a = 1\nb = 5\nc = 3\n", parser.reparse(script, new Edit(1, 2, "b = 5")).compile());
+		assertEquals(CODE, script.compile());
+		assertEquals(parser.parse(Source.fromString("a = 1\nb = 2\nc = 5\n")).compile(),
+				parser.reparse(script, new Edit(2, 3, "c = 5")).compile());
+		SyntaxException error = assertThrows(SyntaxException.class, () -> parser.reparse(script, new Edit(1, 2, "!")));
+		assertEquals(1, error.getLineIndex());
+	}
+
+}
@@ -0,0 +1,151 @@
+package com.sniskus.helix.api.script;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionTest {
+	private static final Budget BUDGET = Budget.ofInstructions(1, Budget.OverrunPolicy.DEFER);
+
+	@Test
+	void finishedExecutionWritesBackAndReleases() {
+		CountingDictionary dict = new CountingDictionary();
+		dict.putLong("slices", 3);
+		Script.Execution execution = new SlicedScript().start(dict, BUDGET);
+		assertFalse(execution.isDone());
+		assertFalse(dict.containsKey("count"));
+		assertFalse(execution.resume());
+		assertEquals(0, dict.released);
+		assertTrue(execution.resume());
+		assertTrue(execution.isDone());
+		assertEquals(3L, dict.get("count"));
+		assertEquals(1, dict.released);
+		assertThrows(IllegalStateException.class, execution::resume);
+		assertEquals(1, dict.released);
+	}
+
+	@Test
+	void executionFinishedInFirstSliceReleasesImmediately() {
+		CountingDictionary dict = new CountingDictionary();
+		dict.putLong("slices", 1);
+		Script.Execution execution = new SlicedScript().start(dict, BUDGET);
+		assertTrue(execution.isDone());
+		assertEquals(1L, dict.get("count"));
+		assertEquals(1, dict.released);
+	}
+
+	@Test
+	void cancelReleasesWithoutWritingBack() {
+		CountingDictionary dict = new CountingDictionary();
+		dict.putLong("slices", 3);
+		Script.Execution execution = new SlicedScript().start(dict, BUDGET);
+		execution.cancel();
+		assertFalse(dict.containsKey("count"));
+		assertEquals(1, dict.released);
+		execution.cancel();
+		assertEquals(1, dict.released);
+	}
+
+	@Test
+	void abortedExecutionReleases() {
+		CountingDictionary dict = new CountingDictionary();
+		dict.putLong("slices", 3);
+		dict.putLong("abort", 2);
+		Script.Execution execution = new SlicedScript().start(dict, BUDGET);
+		assertThrows(ScriptException.class, execution::resume);
+		assertEquals(1, dict.released);
+	}
+
+	@Test
+	void failedStartReleases() {
+		CountingDictionary dict = new CountingDictionary();
+		dict.putLong("slices", 3);
+		dict.putLong("abort", 1);
+		assertThrows(ScriptException.class, () -> new SlicedScript().start(dict, BUDGET));
+		assertEquals(1, dict.released);
+	}
+
+	@Test
+	void pooledDictionaryIsReturnedToPool() {
+		DictionaryPool pool = new DictionaryPool(1, true);
+		Dictionary.Lease lease = pool.acquire();
+		lease.putLong("slices", 1);
+		new SlicedScript().start(lease, BUDGET);
+		assertThrows(IllegalStateException.class, lease::release);
+	}
+
+	@Test
+	void budgetLimitsAreValidated() {
+		assertThrows(IllegalArgumentException.class, () -> Budget.ofInstructions(0, Budget.OverrunPolicy.ABORT));
+		assertThrows(IllegalArgumentException.class, () -> Budget.ofTime(Duration.ZERO, Budget.OverrunPolicy.ABORT));
+		Budget budget = Budget.ofInstructions(10, Budget.OverrunPolicy.ABORT).withTime(Duration.ofMillis(5));
+		assertEquals(10, budget.getInstructions());
+		assertEquals(5_000_000, budget.getNanos());
+		assertEquals(Budget.OverrunPolicy.ABORT, budget.getPolicy());
+		assertEquals(Long.MAX_VALUE, Budget.UNLIMITED.getInstructions());
+		assertEquals(Long.MAX_VALUE, Budget.UNLIMITED.getNanos());
+	}
+
+	private static final class CountingDictionary extends HashMap<String, Object> implements Dictionary {
+		private int released;
+
+		@Override
+		public void release() {
+			released++;
+		}
+
+	}
+
+	/**
+	 * A script which increments {@code count} once per slice until it reaches {@code slices},
+	 * failing in the slice given by {@code abort}.
+	 */
+	private static final class SlicedScript extends TestScript {
+		private static final Frame.Layout LAYOUT = ArrayFrame.layout("count", "slices", "abort");
+
+		SlicedScript() {
+			super("");
+		}
+
+		@Override
+		public @NotNull Frame.Layout getLayout() {
+			return LAYOUT;
+		}
+
+		@Override
+		public @NotNull Execution start(@NotNull Frame frame, @NotNull Budget budget) {
+			Execution execution = new Execution() {
+				private boolean cancelled;
+
+				@Override
+				public boolean resume() {
+					if (isDone()) throw new IllegalStateException();
+					long count = frame.getLong(0) + 1;
+					if (count == frame.getLong(2)) throw new ScriptException("Budget exceeded");
+					frame.setLong(0, count);
+					return isDone();
+				}
+
+				@Override
+				public boolean isDone() {
+					return cancelled || frame.getLong(0) == frame.getLong(1);
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+			};
+			frame.setLong(0, 0);
+			if (frame.get(2) == null) frame.setLong(2, -1);
+			execution.resume();
+			return execution;
+		}
+
+	}
+
+}
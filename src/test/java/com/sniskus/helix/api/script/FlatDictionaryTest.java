@@ -0,0 +1,132 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatDictionaryTest {
+	// All of these keys share the same hash code, so they occupy consecutive slots
+	private static final List<String> COLLIDING = List.of("AaAa", "AaBB", "BBAa", "BBBB");
+
+	@Test
+	void collidingKeysAreProbed() {
+		FlatDictionary dict = new FlatDictionary();
+		for (int i = 0; i < COLLIDING.size(); i++) dict.putLong(COLLIDING.get(i), i);
+		assertEquals(COLLIDING.size(), dict.size());
+		for (int i = 0; i < COLLIDING.size(); i++) assertEquals(i, dict.getLong(COLLIDING.get(i), -1));
+	}
+
+	@Test
+	void removedKeysLeaveTombstonesWhichKeepProbeChainsIntact() {
+		FlatDictionary dict = new FlatDictionary();
+		COLLIDING.forEach(key -> dict.put(key, key));
+		assertEquals("AaBB", dict.remove("AaBB"));
+		assertFalse(dict.containsKey("AaBB"));
+		assertEquals("BBAa", dict.get("BBAa"));
+		assertEquals("BBBB", dict.get("BBBB"));
+		assertEquals(3, dict.size());
+	}
+
+	@Test
+	void tombstonesAreReusedWithoutDuplicatingKeys() {
+		FlatDictionary dict = new FlatDictionary();
+		COLLIDING.forEach(key -> dict.put(key, key));
+		dict.remove("AaAa");
+		dict.remove("AaBB");
+		dict.put("BBBB", "updated");
+		dict.put("AaBB", "again");
+		assertEquals(3, dict.size());
+		assertEquals("updated", dict.get("BBBB"));
+		assertEquals("again", dict.get("AaBB"));
+		assertEquals(Map.of("AaBB", "again", "BBAa", "BBAa", "BBBB", "updated"), new HashMap<>(dict));
+	}
+
+	@Test
+	void churnDoesNotExhaustFreeSlots() {
+		FlatDictionary dict = new FlatDictionary();
+		dict.putLong("kept", 1);
+		for (int i = 0; i < 10_000; i++) {
+			dict.putLong("key" + i, i);
+			dict.remove("key" + i);
+		}
+		assertEquals(1, dict.size());
+		assertEquals(1, dict.getLong("kept", 0));
+		assertNull(dict.get("absent"));
+	}
+
+	@Test
+	void growsToHoldManyKeys() {
+		FlatDictionary dict = new FlatDictionary(2);
+		for (int i = 0; i < 1_000; i++) dict.putDouble("key" + i, i / 2.0);
+		assertEquals(1_000, dict.size());
+		for (int i = 0; i < 1_000; i++) assertEquals(i / 2.0, dict.getDouble("key" + i, -1));
+	}
+
+	@Test
+	void typedLanesConvertLikeScripts() {
+		FlatDictionary dict = new FlatDictionary();
+		dict.putLong("long", 3);
+		dict.putDouble("double", 2.5);
+		dict.putBoolean("boolean", true);
+		dict.put("object", 4);
+		assertEquals(3.0, dict.getDouble("long", 0));
+		assertEquals(2, dict.getLong("double", 0));
+		assertEquals(4, dict.getLong("object", 0));
+		assertEquals(7, dict.getLong("absent", 7));
+		assertThrows(ScriptException.class, () -> dict.getLong("boolean", 0));
+		assertThrows(ScriptException.class, () -> dict.getBoolean("long", false));
+		assertEquals(3L, dict.get("long"));
+		assertEquals(2.5, dict.get("double"));
+		assertEquals(true, dict.get("boolean"));
+	}
+
+	@Test
+	void putReplacesTypedValuesAndReturnsThemBoxed() {
+		FlatDictionary dict = new FlatDictionary();
+		dict.putLong("a", 1);
+		assertEquals(1L, dict.put("a", "text"));
+		assertEquals("text", dict.get("a"));
+		dict.putBoolean("a", false);
+		assertEquals(false, dict.get("a"));
+		assertNull(dict.put("b", null));
+		assertTrue(dict.containsKey("b"));
+		assertEquals(5, dict.getLong("b", 5));
+	}
+
+	@Test
+	void entriesCanBeUpdatedAndRemovedWhileIterating() {
+		FlatDictionary dict = new FlatDictionary();
+		COLLIDING.forEach(key -> dict.putLong(key, 1));
+		for (Iterator<Map.Entry<String, Object>> it = dict.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<String, Object> entry = it.next();
+			if (entry.getKey().startsWith("Aa")) it.remove();
+			else entry.setValue(2L);
+		}
+		assertEquals(Map.of("BBAa", 2L, "BBBB", 2L), dict);
+		assertEquals(dict.hashCode(), Map.of("BBAa", 2L, "BBBB", 2L).hashCode());
+	}
+
+	@Test
+	void clearRemovesEverything() {
+		FlatDictionary dict = new FlatDictionary();
+		COLLIDING.forEach(key -> dict.put(key, key));
+		dict.clear();
+		assertTrue(dict.isEmpty());
+		assertNull(dict.get("AaAa"));
+		dict.put("AaAa", 1);
+		assertEquals(1, dict.size());
+	}
+
+	@Test
+	void rejectsInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new FlatDictionary(-1));
+		assertThrows(NullPointerException.class, () -> new FlatDictionary().putLong(null, 1));
+		assertNull(new FlatDictionary().get(1));
+	}
+
+}
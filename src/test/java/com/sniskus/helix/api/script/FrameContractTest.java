@@ -0,0 +1,108 @@
+package com.sniskus.helix.api.script;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the documented contract of {@link Frame} and {@link Frame.Layout}.
+ * Implementations are tested by extending this class.
+ */
+abstract class FrameContractTest {
+
+	/**
+	 * Creates a layout with the given variables, in slot order.
+	 */
+	protected abstract @NotNull Frame.Layout layout(@NotNull String @NotNull ... names);
+
+	@Test
+	void layoutMapsNamesToSlots() {
+		Frame.Layout layout = layout("a", "b");
+		assertEquals(2, layout.size());
+		assertEquals("b", layout.name(layout.slot("b")));
+		assertEquals(-1, layout.slot("c"));
+		assertThrows(IndexOutOfBoundsException.class, () -> layout.name(2));
+	}
+
+	@Test
+	void newFramesAreEmptyAndIndependent() {
+		Frame.Layout layout = layout("a");
+		Frame first = layout.newFrame();
+		first.setLong(0, 1);
+		Frame second = layout.newFrame();
+		assertSame(layout, second.getLayout());
+		assertNull(second.get(0));
+		assertEquals(1, first.getLong(0));
+	}
+
+	@Test
+	void typedLanesRoundTripAndBoxOnGenericAccess() {
+		Frame frame = layout("l", "d", "b").newFrame();
+		frame.setLong(0, Long.MIN_VALUE);
+		frame.setDouble(1, -0.5);
+		frame.setBoolean(2, true);
+		assertEquals(Long.MIN_VALUE, frame.getLong(0));
+		assertEquals(-0.5, frame.getDouble(1));
+		assertTrue(frame.getBoolean(2));
+		assertEquals(Long.MIN_VALUE, frame.get(0));
+		assertEquals(-0.5, frame.get(1));
+		assertEquals(true, frame.get(2));
+	}
+
+	@Test
+	void readingThroughAnotherLaneConverts() {
+		Frame frame = layout("a").newFrame();
+		frame.setLong(0, 3);
+		assertEquals(3.0, frame.getDouble(0));
+		frame.setDouble(0, 2.0);
+		assertEquals(2, frame.getLong(0));
+		frame.set(0, 7);
+		assertEquals(7, frame.getLong(0));
+		frame.set(0, "text");
+		assertThrows(ScriptException.class, () -> frame.getLong(0));
+		assertThrows(ScriptException.class, () -> frame.getBoolean(0));
+	}
+
+	@Test
+	void clearResetsEverySlot() {
+		Frame frame = layout("a", "b").newFrame();
+		frame.setLong(0, 1);
+		frame.set(1, "b");
+		frame.clear();
+		assertNull(frame.get(0));
+		assertNull(frame.get(1));
+	}
+
+	@Test
+	void slotsOutsideTheLayoutAreRejected() {
+		Frame frame = layout("a").newFrame();
+		assertThrows(IndexOutOfBoundsException.class, () -> frame.get(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> frame.setLong(-1, 0));
+	}
+
+	@Test
+	void dictionaryViewIsLive() {
+		Frame.Layout layout = layout("a", "b");
+		Frame frame = layout.newFrame();
+		Dictionary view = frame.asDictionary();
+		frame.setLong(layout.slot("a"), 5);
+		assertEquals(5L, view.get("a"));
+		assertEquals(5, view.getLong("a", 0));
+		view.put("b", "text");
+		assertEquals("text", frame.get(layout.slot("b")));
+		assertEquals(Map.of("a", 5L, "b", "text"), Map.copyOf(view));
+		assertThrows(RuntimeException.class, () -> view.put("c", 1));
+	}
+
+	static final class ArrayFrameTest extends FrameContractTest {
+
+		@Override
+		protected @NotNull Frame.Layout layout(@NotNull String @NotNull ... names) {
+			return ArrayFrame.layout(names);
+		}
+	}
+
+}
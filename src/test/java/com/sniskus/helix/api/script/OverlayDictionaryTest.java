@@ -0,0 +1,95 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlayDictionaryTest {
+
+	private static FlatDictionary shared() {
+		FlatDictionary shared = new FlatDictionary();
+		shared.put("player", "Steve");
+		shared.putLong("count", 3);
+		return shared;
+	}
+
+	@Test
+	void readsGoToSharedDictionary() {
+		Dictionary overlay = Dictionary.overlay(shared());
+		assertEquals("Steve", overlay.get("player"));
+		assertEquals(3, overlay.getLong("count", 0));
+		assertEquals(Map.of("player", "Steve", "count", 3L), new HashMap<>(overlay));
+	}
+
+	@Test
+	void writesDoNotAffectSharedOrOtherOverlays() {
+		FlatDictionary shared = shared();
+		Dictionary a = Dictionary.overlay(shared);
+		Dictionary b = Dictionary.overlay(shared);
+		a.put("player", "Alex");
+		a.putDouble("health", 20);
+		a.remove("count");
+		b.putBoolean("flag", true);
+
+		assertEquals(Map.of("player", "Alex", "health", 20.0), new HashMap<>(a));
+		assertEquals(Map.of("player", "Steve", "count", 3L, "flag", true), new HashMap<>(b));
+		assertEquals(Map.of("player", "Steve", "count", 3L), new HashMap<>(shared));
+	}
+
+	@Test
+	void scriptWriteBackReachesOverlay() {
+		FlatDictionary shared = shared();
+		Dictionary overlay = Dictionary.overlay(shared);
+		overlay.putAll(Map.of("result", 1L));
+		overlay.merge("count", 1L, (x, y) -> (Long) x + (Long) y);
+		assertEquals(1L, overlay.get("result"));
+		assertEquals(4L, overlay.get("count"));
+		assertEquals(3L, shared.get("count"));
+	}
+
+	@Test
+	void removingAbsentKeysDoesNotCopy() {
+		FlatDictionary shared = shared();
+		Dictionary overlay = Dictionary.overlay(shared);
+		assertNull(overlay.remove("missing"));
+		shared.put("added", 1L);
+		assertEquals(1L, overlay.get("added"));
+	}
+
+	@Test
+	void clearHidesSharedVariables() {
+		FlatDictionary shared = shared();
+		Dictionary overlay = Dictionary.overlay(shared);
+		overlay.clear();
+		assertTrue(overlay.isEmpty());
+		assertEquals(2, shared.size());
+	}
+
+	@Test
+	void collectionViewsAreReadOnlyBeforeFirstWrite() {
+		Dictionary overlay = Dictionary.overlay(shared());
+		assertThrows(UnsupportedOperationException.class, () -> overlay.keySet().remove("player"));
+		overlay.put("player", "Alex");
+		assertTrue(overlay.keySet().remove("player"));
+		assertFalse(overlay.containsKey("player"));
+	}
+
+	@Test
+	void releasingViewsDoesNotReleaseShared() {
+		DictionaryPool pool = new DictionaryPool(1, true);
+		Dictionary.Lease lease = pool.acquire();
+		lease.put("player", "Steve");
+		Dictionary overlay = Dictionary.overlay(lease);
+		Dictionary view = Dictionary.unmodifiable(lease);
+		overlay.release();
+		view.release();
+		assertEquals("Steve", lease.get("player"));
+		assertThrows(UnsupportedOperationException.class, () -> view.put("player", "Alex"));
+		assertSame(view, Dictionary.unmodifiable(view));
+		lease.release();
+	}
+
+}
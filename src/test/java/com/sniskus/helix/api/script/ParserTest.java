@@ -0,0 +1,97 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserTest {
+
+	@Test
+	void parseCompiledCompilesTheParsedScript() throws Exception {
+		TestParser parser = new TestParser();
+		Script script = parser.parseCompiled(Source.fromString("a = 1"));
+		assertTrue(script.isBytecodeCompiled());
+		assertEquals("a = 1", script.compile());
+		assertEquals(1, parser.parsed.get());
+	}
+
+	@Test
+	void compileToBytecodeReturnsCompiledScriptsThemselves() {
+		Script compiled = new TestScript("a = 1").compileToBytecode();
+		assertSame(compiled, compiled.compileToBytecode());
+	}
+
+	@Test
+	void parseAllCollectsResultsPerSource() throws Exception {
+		TestParser parser = new TestParser();
+		Source valid = Source.fromString("valid", "a = 1");
+		Source invalid = Source.fromString("invalid", "a = 1\n!");
+		ParseResults results = parser.parseAll(List.of(valid, invalid), Runnable::run).get();
+		assertFalse(results.isSuccessful());
+		assertEquals(List.of(valid), List.copyOf(results.getScripts().keySet()));
+		assertEquals(1, results.getSyntaxErrors().get(invalid).getLineIndex());
+		assertTrue(results.getIoErrors().isEmpty());
+	}
+
+	@Test
+	void parseAllRunsOnTheGivenExecutor() throws Exception {
+		TestParser parser = new TestParser();
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<Source> sources = IntStream.range(0, 16).mapToObj(i -> Source.fromString("a = " + i)).toList();
+			ParseResults results = parser.parseAll(sources, command -> executor.execute(() -> {
+				threads.add(Thread.currentThread());
+				command.run();
+			})).get();
+			assertEquals(16, results.getScripts().size());
+		} finally {
+			executor.shutdown();
+		}
+		assertFalse(threads.isEmpty());
+		assertTrue(threads.stream().noneMatch(thread -> thread instanceof ForkJoinWorkerThread));
+	}
+
+	@Test
+	void parseAllRejectsDuplicateSources(@TempDir Path directory) {
+		TestParser parser = new TestParser();
+		Source source = Source.fromString("a = 1");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseAll(List.of(source, source), Runnable::run));
+		Path file = directory.resolve("test.hx");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseAll(
+				List.of(Source.fromPath(file), Source.fromPath(directory.resolve("x/../test.hx"))), Runnable::run));
+	}
+
+	@Test
+	void parseAllWalksScriptFilesOnly(@TempDir Path root) throws Exception {
+		Files.createDirectories(root.resolve("dir"));
+		Files.createDirectories(root.resolve(Parser.CACHE_DIRECTORY));
+		Files.writeString(root.resolve("a.hx"), "a = 1");
+		Files.writeString(root.resolve("dir/b.hx"), "b = 1");
+		Files.writeString(root.resolve("dir/!error.hx"), "!");
+		Files.writeString(root.resolve("notes.txt"), "!");
+		Files.writeString(root.resolve(".hidden.hx"), "!");
+		Files.writeString(root.resolve(Parser.CACHE_DIRECTORY).resolve("c.hx"), "!");
+		TestParser parser = new TestParser();
+		ParseResults results = parser.parseAll(root, Runnable::run).get();
+		Set<Path> parsed = results.getScripts().keySet().stream()
+				.map(source -> root.relativize(((Source.ForFile) source).getPath()))
+				.collect(Collectors.toSet());
+		assertEquals(Set.of(Path.of("a.hx"), Path.of("dir/b.hx")), parsed);
+		assertEquals(1, results.getSyntaxErrors().size());
+		assertEquals(3, parser.cached.get());
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptTest {
+	private final TestParser parser = TestHelixApi.get().getParser();
+
+	@BeforeEach
+	void reset() {
+		parser.parsed.set(0);
+		parser.cached.set(0);
+	}
+
+	@Test
+	void parsingAFileSourceDoesNotUseTheCache(@TempDir Path directory) throws Exception {
+		Path file = Files.writeString(directory.resolve("test.hx"), "a = 1");
+		Script.parse(Source.fromPath(file));
+		assertEquals(1, parser.parsed.get());
+		assertEquals(0, parser.cached.get());
+	}
+
+	@Test
+	void parseCachedUsesTheCache(@TempDir Path directory) throws Exception {
+		Path file = Files.writeString(directory.resolve("test.hx"), "a = 1");
+		assertEquals("a = 1", Script.parseCached(Source.fromPath(file)).compile());
+		assertEquals(1, parser.cached.get());
+	}
+
+	@Test
+	void writesToStreamsWithoutClosingThem() throws Exception {
+		Script script = new TestScript("name = \"h\u00e9lix\"");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				fail("Stream was closed");
+			}
+		};
+		script.write(bytes);
+		assertEquals(script.compile(), bytes.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void writesToChannels(@TempDir Path directory) throws Exception {
+		Script script = new TestScript("name = \"h\u00e9lix\"");
+		Path file = directory.resolve("test.hx");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			script.write(channel);
+			assertTrue(channel.isOpen());
+		}
+		assertEquals(script.compile(), Files.readString(file));
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.sniskus.helix.api.script;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptWatcherTest {
+	private static final Duration DEBOUNCE = Duration.ofMillis(200);
+
+	private final BlockingQueue<Path> changes = new LinkedBlockingQueue<>();
+	private final BlockingQueue<Exception> errors = new LinkedBlockingQueue<>();
+	private ScriptWatcher watcher;
+
+	@TempDir
+	Path root;
+
+	@AfterEach
+	void close() throws IOException {
+		if (watcher != null) watcher.close();
+		assertTrue(errors.isEmpty(), () -> "Unexpected errors: " + errors);
+	}
+
+	private void start() throws IOException {
+		watcher = ScriptWatcher.start(root, DEBOUNCE, source -> changes.add(source.getPath()), (source, e) -> errors.add(e));
+	}
+
+	private @NotNull Path next() throws InterruptedException {
+		Path path = changes.poll(10, TimeUnit.SECONDS);
+		assertNotNull(path, "No change was reported");
+		return path;
+	}
+
+	private void assertQuiet() throws InterruptedException {
+		Path path = changes.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS);
+		assertNull(path, () -> "Unexpected change of " + path);
+	}
+
+	@Test
+	void repeatedWritesAreReportedOnce() throws Exception {
+		start();
+		Path file = root.resolve("test.hx");
+		for (int i = 0; i < 5; i++) {
+			Files.writeString(file, "a = " + i);
+			Thread.sleep(20);
+		}
+		assertEquals(file, next());
+		assertQuiet();
+	}
+
+	@Test
+	void filesInNewDirectoriesAreReported() throws Exception {
+		start();
+		Path dir = Files.createDirectory(root.resolve("dir"));
+		Path file = Files.writeString(dir.resolve("test.hx"), "a = 1");
+		assertEquals(file, next());
+		assertQuiet();
+		Files.writeString(file, "a = 2");
+		assertEquals(file, next());
+	}
+
+	@Test
+	void hiddenFilesAreIgnored() throws Exception {
+		Files.createDirectory(root.resolve(Parser.CACHE_DIRECTORY));
+		start();
+		Files.writeString(root.resolve(".test.hx"), "a = 1");
+		Files.writeString(root.resolve(Parser.CACHE_DIRECTORY).resolve("test.bin"), "a = 1");
+		assertQuiet();
+	}
+
+	@Test
+	void filesWithoutScriptExtensionAreIgnored() throws Exception {
+		Path backup = Files.writeString(root.resolve("test.hx~"), "a = 1");
+		start();
+		Files.writeString(backup, "a = 2");
+		Files.writeString(root.resolve("test.hx.swp"), "a = 1");
+		Files.writeString(root.resolve("README.md"), "# Scripts");
+		Files.delete(backup);
+		Path dir = Files.createDirectory(root.resolve("dir"));
+		Files.writeString(dir.resolve("test.hx.orig"), "a = 1");
+		Path script = Files.writeString(dir.resolve("test.hx"), "a = 1");
+		assertEquals(script, next());
+		assertQuiet();
+	}
+
+	@Test
+	void deletedFilesAreReported() throws Exception {
+		Path file = Files.writeString(root.resolve("test.hx"), "a = 1");
+		start();
+		Files.delete(file);
+		assertEquals(file, next());
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	void filesOfDirectoriesMovedAwayAreReported(@TempDir Path elsewhere) throws Exception {
+		Path dir = Files.createDirectories(root.resolve("dir/nested"));
+		Path first = Files.writeString(root.resolve("dir/test.hx"), "a = 1");
+		Path second = Files.writeString(dir.resolve("test.hx"), "a = 1");
+		start();
+		Files.move(root.resolve("dir"), elsewhere.resolve("dir"));
+		Set<Path> reported = new HashSet<>(Set.of(next(), next()));
+		assertEquals(Set.of(first, second), reported);
+		assertQuiet();
+	}
+
+	@Test
+	void nothingIsReportedAfterClose() throws Exception {
+		start();
+		Files.writeString(root.resolve("test.hx"), "a = 1");
+		watcher.close();
+		Files.writeString(root.resolve("other.hx"), "a = 1");
+		assertQuiet();
+	}
+
+	@Test
+	void listenerErrorsAreHandled() throws Exception {
+		Path file = root.resolve("test.hx");
+		watcher = ScriptWatcher.start(root, Duration.ZERO, source -> {
+			throw new SyntaxException("Invalid", "", 0);
+		}, (source, e) -> changes.add(source.getPath()));
+		Files.writeString(file, "!");
+		assertEquals(file, next());
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SourceTest {
+
+	@Test
+	void fileNamesAreRelativeToTheScriptRoot() {
+		Path root = TestHelixApi.get().getScriptRoot();
+		Path file = root.resolve("dir").resolve("test.hx");
+		assertEquals(Path.of("dir", "test.hx").toString(), Source.fromPath(file).name());
+		assertEquals(Path.of("dir", "test.hx").toString(), Source.fromPath(root.resolve("other/../dir/test.hx")).name());
+	}
+
+	@Test
+	void filesOutsideTheScriptRootAreNamedByTheirAbsolutePath(@TempDir Path directory) {
+		Path file = directory.resolve("test.hx");
+		assertEquals(file.toAbsolutePath().toString(), Source.fromPath(file).name());
+	}
+
+	@Test
+	void hashDependsOnContentOnly(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("test.hx");
+		Files.writeString(file, "a = 1");
+		assertEquals(Source.fromString("a = 1").hash(), Source.fromPath(file).hash());
+		assertNotEquals(Source.fromString("a = 2").hash(), Source.fromPath(file).hash());
+	}
+
+	@Test
+	void fileContentIsReadIntoTheHeap(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("test.hx");
+		Files.writeString(file, "name = \"h\u00e9lix\"");
+		Source source = Source.fromPath(file);
+		ByteBuffer bytes = source.bytes();
+		assertFalse(bytes.isDirect());
+		assertTrue(bytes.isReadOnly());
+		assertEquals("name = \"h\u00e9lix\"", source.content().toString());
+		// The file is not held open by the buffer
+		Files.delete(file);
+		assertEquals(StandardCharsets.UTF_8.encode("name = \"h\u00e9lix\""), bytes);
+	}
+
+	@Test
+	void largeFilesCanBeMapped(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("test.hx");
+		Files.writeString(file, "a = 1");
+		MappedByteBuffer mapped = Source.fromPath(file).map();
+		assertTrue(mapped.isReadOnly());
+		assertEquals(Source.fromPath(file).bytes(), mapped);
+	}
+
+	@Test
+	void inMemoryContentIsNotCopied() throws Exception {
+		String code = "a = 1";
+		assertSame(code, Source.fromString(code).content());
+		assertEquals("a = 1", StandardCharsets.UTF_8.decode(Source.fromString(code).bytes()).toString());
+	}
+
+	@Test
+	void saveReplacesChangedFilesOnly(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("test.hx");
+		Source.ForFile source = Source.fromPath(file);
+		assertTrue(source.save(new TestScript("a = 1")));
+		assertEquals("a = 1", Files.readString(file));
+		FileTime modified = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(file, modified);
+		assertFalse(source.save(new TestScript("a = 1")));
+		assertEquals(modified, Files.getLastModifiedTime(file));
+		assertTrue(source.save(new TestScript("a = 2")));
+		assertEquals("a = 2", Files.readString(file));
+		try (var files = Files.list(directory)) {
+			assertEquals(List.of(file), files.toList());
+		}
+	}
+
+	@Test
+	void saveKeepsPermissions(@TempDir Path directory) throws Exception {
+		assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+		Path file = Files.writeString(directory.resolve("test.hx"), "a = 1");
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+		Files.setPosixFilePermissions(file, permissions);
+		assertTrue(Source.fromPath(file).save(new TestScript("a = 2")));
+		assertEquals(permissions, Files.getPosixFilePermissions(file));
+	}
+
+	@Test
+	void saveReplacesTheTargetOfSymbolicLinks(@TempDir Path directory) throws Exception {
+		Path target = Files.writeString(directory.resolve("target.hx"), "a = 1");
+		Path link;
+		try {
+			link = Files.createSymbolicLink(directory.resolve("link.hx"), target);
+		} catch (UnsupportedOperationException | IOException e) {
+			assumeTrue(false, "Symbolic links are not supported");
+			return;
+		}
+		assertTrue(Source.fromPath(link).save(new TestScript("a = 2")));
+		assertTrue(Files.isSymbolicLink(link));
+		assertEquals("a = 2", Files.readString(target));
+	}
+
+	@Test
+	void saveAllReportsWrittenSources(@TempDir Path directory) throws Exception {
+		Source.ForFile unchanged = Source.fromPath(Files.writeString(directory.resolve("a.hx"), "a = 1"));
+		Source.ForFile changed = Source.fromPath(directory.resolve("b.hx"));
+		Set<Source.Writable> written = Source.Writable.saveAll(
+				Map.of(unchanged, new TestScript("a = 1"), changed, new TestScript("b = 1")), Runnable::run).get();
+		assertEquals(Set.of(changed), written);
+	}
+
+}
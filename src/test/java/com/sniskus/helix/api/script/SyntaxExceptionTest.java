@@ -0,0 +1,28 @@
+package com.sniskus.helix.api.script;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntaxExceptionTest {
+
+	@Test
+	void syntaxErrorsAreOrderedByLine() {
+		SyntaxException first = new SyntaxException("first", "x", 4);
+		SyntaxException second = new SyntaxException(null, "y", 1);
+		first.addSuppressed(second);
+		first.addSuppressed(new IllegalStateException());
+		assertEquals(List.of(second, first), first.getErrors());
+		assertEquals("Unknown parse error", second.getMessage());
+		assertEquals(2, second.getLineNr());
+	}
+
+	@Test
+	void rejectsInvalidLines() {
+		assertThrows(NullPointerException.class, () -> new SyntaxException("reason", null, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SyntaxException("reason", "", -1));
+	}
+
+}
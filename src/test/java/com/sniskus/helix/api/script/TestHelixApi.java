@@ -0,0 +1,67 @@
+package com.sniskus.helix.api.script;
+
+import com.sniskus.helix.api.HelixApi;
+import com.sniskus.helix.api.HelixModule;
+import com.sniskus.helix.api.implementation.MainThreadExecutor;
+import com.sniskus.helix.api.implementation.Namespace;
+import com.sniskus.helix.api.implementation.RecordingEventBus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The API instance loaded by {@link HelixApi#INSTANCE} during tests. Its script
+ * root is a temporary directory, its parser is a {@link TestParser} and its event
+ * bus is a {@link RecordingEventBus}.
+ */
+public final class TestHelixApi implements HelixApi {
+	private final Path root;
+	private final TestParser parser = new TestParser();
+	private final RecordingEventBus eventBus = new RecordingEventBus();
+
+	public TestHelixApi() {
+		try {
+			root = Files.createTempDirectory("helix");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static @NotNull TestHelixApi get() {
+		return (TestHelixApi) HelixApi.getApi();
+	}
+
+	@Override
+	public @NotNull Path getScriptRoot() {
+		return root;
+	}
+
+	@Override
+	public @NotNull TestParser getParser() {
+		return parser;
+	}
+
+	@Override
+	public @NotNull RecordingEventBus getEventBus() {
+		return eventBus;
+	}
+
+	@Override
+	public @NotNull MainThreadExecutor getMainThreadExecutor() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public @NotNull Namespace getRoot(@NotNull HelixModule module) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void reload(Source.@NotNull ForFile source) {
+		throw new UnsupportedOperationException();
+	}
+
+}
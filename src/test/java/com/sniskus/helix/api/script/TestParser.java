@@ -0,0 +1,43 @@
+package com.sniskus.helix.api.script;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A parser which accepts any source, except lines starting with {@code !},
+ * which are reported as syntax errors.
+ */
+class TestParser implements Parser {
+	final AtomicInteger parsed = new AtomicInteger();
+	final AtomicInteger cached = new AtomicInteger();
+
+	@Override
+	public @NotNull Script parse(@NotNull Source source) throws IOException, SyntaxException {
+		parsed.incrementAndGet();
+		String code = source.content().toString();
+		String[] lines = code.split("\n", -1);
+		for (int i = 0; i < lines.length; i++) {
+			if (lines[i].startsWith("!")) throw new SyntaxException("Unexpected '!'", lines[i], i);
+		}
+		return new TestScript(code);
+	}
+
+	@Override
+	public @NotNull Script parseCached(@NotNull Source.ForFile source) throws IOException, SyntaxException {
+		cached.incrementAndGet();
+		return parse(source);
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@Override
+	public @NotNull String getFileExtension() {
+		return ".hx";
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.sniskus.helix.api.script;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A script which consists of its source code only. Running it does nothing.
+ */
+class TestScript implements Script {
+	private final String code;
+	private final boolean compiled;
+
+	TestScript(@NotNull String code) {
+		this(code, false);
+	}
+
+	private TestScript(@NotNull String code, boolean compiled) {
+		this.code = code;
+		this.compiled = compiled;
+	}
+
+	@Override
+	public void run() { }
+
+	@Override
+	public void run(@NotNull Dictionary dict) { }
+
+	@Override
+	public void run(@NotNull Frame frame) { }
+
+	@Override
+	public @NotNull Execution start(@NotNull Frame frame, @NotNull Budget budget) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public @NotNull Frame.Layout getLayout() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public @NotNull Script compileToBytecode() {
+		return compiled ? this : new TestScript(code, true);
+	}
+
+	@Override
+	public boolean isBytecodeCompiled() {
+		return compiled;
+	}
+
+	@Override
+	public void write(@NotNull Writer writer) throws IOException {
+		writer.write(code);
+	}
+
+}